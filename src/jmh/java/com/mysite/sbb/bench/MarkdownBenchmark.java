@@ -0,0 +1,48 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.document.service.MarkdownService;
+import com.mysite.sbb.document.service.RenderedHtmlCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Optional;
+
+/** 마크다운 → HTML: 캐시 없는 렌더링과 캐시 적중 경로(본문 해시 포함) */
+@State(Scope.Benchmark)
+public class MarkdownBenchmark {
+
+    @Param({"EN", "KO"})
+    public WikiCorpus.Lang lang;
+
+    @Param({"SMALL", "LARGE"})
+    public WikiCorpus.Size size;
+
+    private MarkdownService markdown;
+    private String md;
+
+    @Setup
+    public void setUp() {
+        markdown = new MarkdownService(new RenderedHtmlCache(64_000_000L), name -> Optional.empty(), 1, Integer.MAX_VALUE);
+        md = WikiCorpus.page(lang, size);
+        markdown.toHtml(md); // 캐시 채워 두기
+    }
+
+    @TearDown
+    public void tearDown() {
+        markdown.shutdown();
+    }
+
+    @Benchmark
+    public String render() {
+        return markdown.render(md);
+    }
+
+    @Benchmark
+    public String toHtmlCached() {
+        return markdown.toHtml(md);
+    }
+}
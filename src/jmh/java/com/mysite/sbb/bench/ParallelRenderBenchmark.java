@@ -0,0 +1,52 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.document.service.MarkdownService;
+import com.mysite.sbb.document.service.RenderedHtmlCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 캐시가 빈 상태에서 문서 전체 섹션 렌더링: 섹션 수별 순차 vs 병렬(fork-join 풀).
+ * sequential은 기준값을 무한대로 둬서 항상 요청 스레드에서 처리하게 한 것.
+ */
+@State(Scope.Benchmark)
+public class ParallelRenderBenchmark {
+
+    @Param({"4", "16", "64", "256"})
+    public int sections;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    private MarkdownService markdown;
+    private List<String> mds;
+
+    @Setup
+    public void setUp() {
+        int minChars = "parallel".equals(mode) ? 32_000 : Integer.MAX_VALUE;
+        markdown = new MarkdownService(new RenderedHtmlCache(1), name -> Optional.empty(), 0, minChars);
+        String body = WikiCorpus.page(WikiCorpus.Lang.KO, WikiCorpus.Size.MEDIUM);
+        mds = new ArrayList<>(sections);
+        for (int i = 0; i < sections; i++) {
+            mds.add(body + "\n\n섹션 " + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        markdown.shutdown();
+    }
+
+    @Benchmark
+    public List<String> renderAll() {
+        return markdown.renderAll(mds);
+    }
+}
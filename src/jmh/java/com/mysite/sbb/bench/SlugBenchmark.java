@@ -0,0 +1,33 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.document.util.SlugGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/** 제목 → slug (제목 64개를 한 번에 변환) */
+@State(Scope.Benchmark)
+public class SlugBenchmark {
+
+    @Param({"EN", "KO"})
+    public WikiCorpus.Lang lang;
+
+    private List<String> titles;
+
+    @Setup
+    public void setUp() {
+        titles = WikiCorpus.titles(lang);
+    }
+
+    @Benchmark
+    public void toSlug(Blackhole bh) {
+        for (String title : titles) {
+            bh.consume(SlugGenerator.toSlug(title));
+        }
+    }
+}
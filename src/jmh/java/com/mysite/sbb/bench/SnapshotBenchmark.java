@@ -0,0 +1,73 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.document.domain.DocumentSection;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.service.RevisionCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 수정 한 번에 드는 리비전 처리: 섹션 → 스냅샷, 키프레임 JSON, 델타 계산/적용.
+ * 다음 버전은 섹션 하나만 바뀐 상태 (일반적인 편집).
+ */
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    @Param({"10", "100"})
+    public int sections;
+
+    @Param({"EN", "KO"})
+    public WikiCorpus.Lang lang;
+
+    private final RevisionCodec codec = new RevisionCodec();
+    private List<DocumentSection> entities;
+    private DocumentSnapshot prev;
+    private DocumentSnapshot next;
+    private String delta;
+
+    @Setup
+    public void setUp() {
+        String body = WikiCorpus.page(lang, WikiCorpus.Size.SMALL);
+        entities = new ArrayList<>();
+        for (int i = 0; i < sections; i++) {
+            DocumentSection s = new DocumentSection();
+            s.setId((long) i + 1);
+            s.setOrderIndex(i);
+            s.setHeading("섹션 " + i);
+            s.setContentMd(body + i);
+            entities.add(s);
+        }
+        prev = DocumentSnapshot.of("제목", "요약", entities);
+        List<DocumentSnapshot.Section> changed = new ArrayList<>(prev.sections());
+        int mid = sections / 2;
+        changed.set(mid, new DocumentSnapshot.Section(null, "섹션 " + mid, body + " 수정"));
+        next = new DocumentSnapshot("제목", "요약", changed);
+        delta = codec.diff(prev, next);
+    }
+
+    @Benchmark
+    public DocumentSnapshot snapshot() {
+        return DocumentSnapshot.of("제목", "요약", entities);
+    }
+
+    @Benchmark
+    public String keyframeJson() {
+        return codec.toJson(next);
+    }
+
+    @Benchmark
+    public String diff() {
+        return codec.diff(prev, next);
+    }
+
+    @Benchmark
+    public DocumentSnapshot apply() {
+        return codec.apply(prev, delta);
+    }
+}
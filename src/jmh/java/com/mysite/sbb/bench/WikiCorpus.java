@@ -0,0 +1,97 @@
+package com.mysite.sbb.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 위키 본문 생성기.
+ * 실제 문서처럼 제목/문단/목록/표/코드 블록/링크/이미지를 섞고, 시드를 고정해서 매번 같은 입력을 만든다.
+ */
+public final class WikiCorpus {
+
+    public enum Lang { EN, KO }
+
+    public enum Size {
+        /** 짧은 문서 한 섹션 (~1KB) */
+        SMALL(2),
+        /** 보통 섹션 (~6KB) */
+        MEDIUM(12),
+        /** 긴 문서 한 섹션 (~60KB) */
+        LARGE(120);
+
+        final int blocks;
+
+        Size(int blocks) {
+            this.blocks = blocks;
+        }
+    }
+
+    private static final String[] EN_WORDS = {
+            "ragnar", "saga", "voyage", "kingdom", "raid", "longship", "harbor", "winter", "council", "treaty",
+            "the", "of", "and", "to", "in", "was", "with", "after", "before", "during"};
+    private static final String[] KO_WORDS = {
+            "라그나르", "사가", "항해", "왕국", "습격", "롱쉽", "항구", "겨울", "회의", "조약",
+            "그리고", "이후", "당시", "에서", "으로", "했다", "있었다", "대한", "기록", "전해진다"};
+
+    private WikiCorpus() {
+    }
+
+    /** 한 섹션 분량의 마크다운 */
+    public static String page(Lang lang, Size size) {
+        Random random = new Random(42);
+        String[] words = lang == Lang.KO ? KO_WORDS : EN_WORDS;
+        StringBuilder md = new StringBuilder();
+        for (int b = 0; b < size.blocks; b++) {
+            switch (b % 6) {
+                case 0 -> md.append("## ").append(sentence(random, words, 4)).append("\n\n");
+                case 1, 3 -> md.append(sentence(random, words, 60))
+                        .append(" [").append(words[b % words.length]).append("](/docs/").append("saga-").append(b)
+                        .append(") **").append(words[(b + 1) % words.length]).append("**.\n\n");
+                case 2 -> {
+                    for (int i = 0; i < 5; i++) {
+                        md.append("- ").append(sentence(random, words, 8)).append('\n');
+                    }
+                    md.append('\n');
+                }
+                case 4 -> {
+                    md.append("| 연도 | ").append(words[0]).append(" | ").append(words[1]).append(" |\n");
+                    md.append("|---|---|---|\n");
+                    for (int i = 0; i < 6; i++) {
+                        md.append("| ").append(790 + i).append(" | ").append(sentence(random, words, 3))
+                                .append(" | ").append(sentence(random, words, 3)).append(" |\n");
+                    }
+                    md.append('\n');
+                }
+                default -> md.append("```java\n")
+                        .append("for (int i = 0; i < ships.size(); i++) {\n")
+                        .append("    raid(ships.get(i), \"").append(words[b % words.length]).append("\");\n")
+                        .append("}\n```\n\n")
+                        .append("![map](/attachments/ab/cd/").append(Integer.toHexString(b)).append(".png)\n\n");
+            }
+        }
+        return md.toString();
+    }
+
+    /** 문서 제목 예시 (slug 생성 입력) */
+    public static List<String> titles(Lang lang) {
+        Random random = new Random(7);
+        String[] words = lang == Lang.KO ? KO_WORDS : EN_WORDS;
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            titles.add(sentence(random, words, 2 + random.nextInt(6)) + (i % 4 == 0 ? " (" + (800 + i) + ")" : ""));
+        }
+        return titles;
+    }
+
+    private static String sentence(Random random, String[] words, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(words[random.nextInt(words.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mysite.sbb;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource 빈을 {@link BulkheadDataSource}로 감싼다.
+ * 기본값은 가상 스레드 모드(spring.threads.virtual.enabled)를 따른다.
+ * 플랫폼 스레드 모드에서는 Tomcat 워커 수가 이미 상한 역할을 하므로 필요 없다.
+ */
+@Configuration
+public class DataSourceBulkheadConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceBulkhead(Environment env) {
+        boolean virtual = env.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean enabled = env.getProperty("sbb.db.bulkhead.enabled", Boolean.class, virtual);
+        int maxConcurrent = env.getProperty("sbb.db.bulkhead.max-concurrent", Integer.class,
+                env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMillis = env.getProperty("sbb.db.bulkhead.timeout-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource ds && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(ds, maxConcurrent, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.mysite.sbb;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * IDENTITY → 시퀀스(pooled) 전환 후, 기존 테이블의 id보다 시퀀스가 뒤처져 있으면 앞으로 당겨 둔다.
+ * (ddl-auto=update가 만든 새 시퀀스는 1부터 시작하므로 그대로 두면 기존 행과 PK가 충돌함)
+ * 요청을 받기 전, 스키마 갱신 이후에 한 번 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceAligner {
+
+    /** 엔티티의 @SequenceGenerator allocationSize와 맞출 것 */
+    private static final int ALLOCATION_SIZE = 50;
+
+    /** 테이블 → 시퀀스 */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "documents", "documents_seq",
+            "document_sections", "document_sections_seq",
+            "document_revisions", "document_revisions_seq",
+            "document_outbox", "document_outbox_seq",
+            "question", "question_seq",
+            "answer", "answer_seq");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void align() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        SEQUENCES.forEach((table, sequence) -> {
+            try {
+                Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+                Long next = jdbcTemplate.queryForObject(
+                        dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+                if (maxId != null && next != null && next <= maxId + ALLOCATION_SIZE) {
+                    long restart = maxId + ALLOCATION_SIZE + 1;
+                    jdbcTemplate.execute("alter sequence " + sequence + " restart with " + restart);
+                    log.info("sequence {} restarted at {} (max {}.id = {})", sequence, restart, table, maxId);
+                }
+            } catch (Exception e) {
+                // 시퀀스를 지원하지 않는 DB(테이블 에뮬레이션) 등은 건너뜀
+                log.warn("could not align sequence {} for table {}: {}", sequence, table, e.getMessage());
+            }
+        });
+    }
+}
@@ -1,5 +1,8 @@
 package com.mysite.sbb;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,19 +11,27 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
+import com.mysite.sbb.user.BoundedPasswordEncoder;
+import com.mysite.sbb.user.LoginRateLimitFilter;
+import com.mysite.sbb.user.LoginRateLimiter;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
 	@Bean
-	SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+	SecurityFilterChain filterChain(HttpSecurity http, LoginRateLimiter loginRateLimiter) throws Exception {
 		http
+				// 로그인 시도 제한 (비밀번호 검증 전에)
+				.addFilterBefore(new LoginRateLimitFilter(loginRateLimiter), UsernamePasswordAuthenticationFilter.class)
 				.authorizeHttpRequests(auth -> auth
 						// 지금은 전부 허용. 컨트롤러의 @PreAuthorize로 보호 중
 						.requestMatchers(new AntPathRequestMatcher("/**")).permitAll())
@@ -41,9 +52,21 @@ public class SecurityConfig {
 		return http.build();
 	}
 
+	/**
+	 * bcrypt 강도(sbb.security.bcrypt-strength)를 올리면 기존 해시는 다음 로그인 때 새 강도로 다시 저장된다
+	 * (UserSecurityService.updatePassword). 해시 계산은 전용 스레드에서만.
+	 */
 	@Bean
-	PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	PasswordEncoder passwordEncoder(@Value("${sbb.security.bcrypt-strength:10}") int strength,
+			@Value("${sbb.security.hash-threads:0}") int threads,
+			@Value("${sbb.security.hash-queue:64}") int queueSize,
+			@Value("${sbb.security.hash-timeout-ms:10000}") long timeoutMillis) {
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+		DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+		// 접두어({bcrypt}) 없는 기존 해시도 검증 가능하게 (로그인 시 접두어 붙은 형식으로 갱신됨)
+		delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+		int hashThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		return new BoundedPasswordEncoder(delegating, hashThreads, queueSize, timeoutMillis);
 	}
 
 	@Bean
@@ -8,10 +8,12 @@ import com.mysite.sbb.user.SiteUser;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,7 +22,8 @@ import lombok.Setter;
 @Entity
 public class Answer {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answer_seq")
+	@SequenceGenerator(name = "answer_seq", sequenceName = "answer_seq", allocationSize = 50)
 	private Integer id;
 	
 	@Column(columnDefinition = "TEXT")
@@ -28,10 +31,10 @@ public class Answer {
 	
 	private LocalDateTime createDate;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Question question;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private SiteUser author;
 	
 	private LocalDateTime modifyDate;
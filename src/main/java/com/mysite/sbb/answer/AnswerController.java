@@ -3,7 +3,7 @@ package com.mysite.sbb.answer;
 import com.mysite.sbb.question.Question;
 import com.mysite.sbb.question.QuestionService;
 import com.mysite.sbb.user.SiteUser;
-import com.mysite.sbb.user.UserService;
+import com.mysite.sbb.user.CurrentUser;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -28,14 +28,12 @@ public class AnswerController {
 	
 	private final QuestionService questionService;
 	private final AnswerService answerService;
-	private final UserService userService;
 	
 	@PreAuthorize("isAuthenticated()")
 	@PostMapping("/create/{id}")
 	public String createAnswer(Model model, @PathVariable("id") Integer id, @Valid 
-		AnswerForm answerForm, BindingResult bindingResult, Principal principal) {
-		Question question = this.questionService.getQuestion(id);
-		SiteUser siteUser = this.userService.getUser(principal.getName());
+		AnswerForm answerForm, BindingResult bindingResult, @CurrentUser SiteUser siteUser) {
+		Question question = this.questionService.getQuestionDetail(id);
 		if (bindingResult.hasErrors()) {
 			model.addAttribute("question", question);
 			return "question_detail";
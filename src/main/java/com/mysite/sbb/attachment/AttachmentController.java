@@ -0,0 +1,174 @@
+package com.mysite.sbb.attachment;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 첨부 파일 서빙.
+ * 내용 주소(해시) 기반이라 URL이 가리키는 내용은 절대 바뀌지 않으므로 강한 ETag + 1년 immutable 캐시.
+ * 본문은 Tomcat sendfile로 커널이 파일에서 소켓으로 바로 보내고 (Range 요청 지원),
+ * sendfile을 못 쓰는 커넥터에서만 응답 스트림으로 복사한다.
+ * 업로드한 사람이 확장자를 정하므로, 스크립트를 실행할 수 없는 형식만 그 타입으로 보여주고
+ * 나머지(html, svg 등)는 다운로드로만 내려준다 (같은 출처에서 실행되는 XSS 방지).
+ */
+@Controller
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /** Tomcat sendfile 요청 속성 (커넥터가 지원하면 support가 true) */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /** 브라우저에서 바로 보여줘도 되는 형식 */
+    private static final Set<MediaType> INLINE_TYPES = Set.of(
+            MediaType.IMAGE_PNG,
+            MediaType.IMAGE_JPEG,
+            MediaType.IMAGE_GIF,
+            MediaType.parseMediaType("image/webp"),
+            MediaType.parseMediaType("image/bmp"),
+            MediaType.APPLICATION_PDF,
+            MediaType.TEXT_PLAIN);
+
+    private final AttachmentStore store;
+
+    @GetMapping("/attachments/{name:.+}")
+    public void serve(@PathVariable String name,
+            @RequestParam(name = "w", required = false) Integer width,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file;
+        try {
+            file = store.resolve(name);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + AttachmentStore.hashOf(name) + "\"";
+        String cacheControl = CACHE_CONTROL;
+        String servedName = name;
+        if (width != null && ImageVariants.isVariantWidth(width) && ImageVariants.isImage(name)) {
+            Path variant = store.resolveVariant(name, width);
+            if (Files.isRegularFile(variant)) {
+                file = variant;
+                etag = "\"" + AttachmentStore.hashOf(name) + "-w" + width + "\"";
+                servedName = variant.getFileName().toString();
+            } else {
+                // 파생 이미지가 아직 없으면 원본으로 대신하되 오래 캐시하지 않음
+                cacheControl = "public, max-age=60";
+            }
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long count = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) { // 여러 구간(multipart/byteranges)은 전체 응답으로 대신함
+                    start = ranges.get(0).getRangeStart(length);
+                    long end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        // 파일 끝 이후에서 시작하는 구간 (getRangeEnd는 length-1로 잘라 줄 뿐이라 직접 확인)
+                        throw new IllegalArgumentException("unsatisfiable range");
+                    }
+                    count = end - start + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        MediaType type = MediaTypeFactory.getMediaType(servedName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (INLINE_TYPES.contains(type)) {
+            response.setContentType(type.toString());
+        } else {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+        }
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문은 Tomcat이 요청 처리 후 sendfile로 보냄 (사용자 공간 복사 없음, end는 끝 위치 미포함)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        // 대체 경로: 응답 스트림은 소켓 채널이 아니라서 transferTo도 내부적으로 버퍼 복사
+        OutputStream os = response.getOutputStream();
+        WritableByteChannel out = Channels.newChannel(os);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long n = in.transferTo(position, remaining, out);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+                remaining -= n;
+            }
+        }
+        os.flush();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || c.equals(etag) || c.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mysite.sbb.attachment;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 업로드된 이미지의 크기 정보 + 파생 이미지(썸네일/웹용) 생성 작업 상태.
+ * DB에 남으므로 재시작해도 PENDING 작업이 이어서 처리된다.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "attachment_images", indexes = {
+        @Index(name = "idx_attachment_images_name", columnList = "name", unique = true),
+        @Index(name = "idx_attachment_images_status", columnList = "status, id")
+})
+public class AttachmentImage {
+
+    public enum Status {
+        PENDING, READY, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachment_images_seq")
+    @SequenceGenerator(name = "attachment_images_seq", sequenceName = "attachment_images_seq", allocationSize = 50)
+    private Long id;
+
+    /** 저장소 이름 ({sha256}.{ext}) */
+    @Column(nullable = false, unique = true, length = 80)
+    private String name;
+
+    private Integer width;
+    private Integer height;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    private int attempts;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,18 @@
+package com.mysite.sbb.attachment;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AttachmentImageRepository extends JpaRepository<AttachmentImage, Long> {
+    Optional<AttachmentImage> findByName(String name);
+
+    List<AttachmentImage> findByNameIn(Collection<String> names);
+
+    boolean existsByName(String name);
+
+    List<AttachmentImage> findByStatusOrderByIdAsc(AttachmentImage.Status status, Pageable limit);
+}
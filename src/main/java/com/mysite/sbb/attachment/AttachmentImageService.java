@@ -0,0 +1,114 @@
+package com.mysite.sbb.attachment;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttachmentImageService implements ImageSizeResolver {
+
+    private final AttachmentImageRepository imageRepo;
+    private final AttachmentStore store;
+
+    /** 받아들이는 최대 픽셀 수 (헤더 기준, 디코딩 메모리 상한) */
+    @Value("${sbb.attachments.max-image-pixels:50000000}")
+    private long maxImagePixels;
+
+    /**
+     * 업로드 직후 호출: 이미지면 헤더만 읽어 크기를 기록하고 파생 이미지 작업을 등록한다.
+     * (디코딩은 하지 않으므로 요청 스레드 비용은 작음). 픽셀 수가 상한을 넘으면 ImageTooLargeException
+     */
+    public Optional<ImageSize> register(StoredAttachment attachment) {
+        if (!ImageVariants.isImage(attachment.name())) {
+            return Optional.empty();
+        }
+        Optional<AttachmentImage> existing = imageRepo.findByName(attachment.name());
+        if (existing.isPresent()) {
+            return sizeOf(existing.get());
+        }
+        ImageSize size = readSize(store.resolve(attachment.name()));
+        if (size == null) {
+            return Optional.empty();
+        }
+        if ((long) size.width() * size.height() > maxImagePixels) {
+            throw new ImageTooLargeException("image too large: " + size.width() + "x" + size.height());
+        }
+        AttachmentImage img = new AttachmentImage();
+        img.setName(attachment.name());
+        img.setWidth(size.width());
+        img.setHeight(size.height());
+        // 축소본이 없는 형식(gif)은 작업 없이 바로 완료
+        img.setStatus(ImageVariants.hasVariants(attachment.name())
+                ? AttachmentImage.Status.PENDING : AttachmentImage.Status.READY);
+        img.setCreatedAt(LocalDateTime.now());
+        try {
+            imageRepo.save(img);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 파일이 동시에 등록됨
+        }
+        return Optional.of(size);
+    }
+
+    @Override
+    public Optional<ImageSize> sizeOf(String attachmentName) {
+        return imageRepo.findByName(attachmentName).flatMap(this::sizeOf);
+    }
+
+    /** 한 번의 IN 조회 */
+    @Override
+    public Map<String, ImageSize> sizesOf(Collection<String> attachmentNames) {
+        Map<String, ImageSize> sizes = new HashMap<>();
+        if (attachmentNames.isEmpty()) {
+            return sizes;
+        }
+        for (AttachmentImage img : imageRepo.findByNameIn(attachmentNames)) {
+            sizeOf(img).ifPresent(size -> sizes.put(img.getName(), size));
+        }
+        return sizes;
+    }
+
+    private Optional<ImageSize> sizeOf(AttachmentImage img) {
+        if (img.getWidth() == null || img.getHeight() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ImageSize(img.getWidth(), img.getHeight()));
+    }
+
+    private static ImageSize readSize(Path file) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new ImageSize(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.debug("not a readable image: {}", file, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.mysite.sbb.attachment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 첨부 파일 저장소 (내용 해시 기반).
+ * <p>
+ * 업로드 스트림을 고정 크기 버퍼로 흘려 보내며 임시 파일에 쓰고 동시에 SHA-256을 계산한 뒤,
+ * {base}/{해시 앞 2자}/{다음 2자}/{해시}.{확장자} 로 옮긴다. 같은 내용은 한 번만 저장된다.
+ * 힙 사용량은 파일 크기와 무관하게 버퍼 하나.
+ */
+@Component
+public class AttachmentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+    private final Path baseDir;
+    private final Path tmpDir;
+
+    public AttachmentStore(@Value("${sbb.attachments.dir:${user.home}/sbb-attachments}") String dir) {
+        this.baseDir = Path.of(dir).toAbsolutePath().normalize();
+        this.tmpDir = baseDir.resolve("tmp");
+    }
+
+    public StoredAttachment store(InputStream in, String originalFilename) throws IOException {
+        Files.createDirectories(tmpDir);
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        MessageDigest sha256 = sha256();
+        long size = 0;
+        try (ReadableByteChannel src = Channels.newChannel(in);
+                FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (src.read(buf) != -1) {
+                buf.flip();
+                sha256.update(buf.duplicate());
+                while (buf.hasRemaining()) {
+                    size += out.write(buf);
+                }
+                buf.clear();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        String hash = HexFormat.of().formatHex(sha256.digest());
+        String ext = extension(originalFilename);
+        String name = ext.isEmpty() ? hash : hash + "." + ext;
+        Path target = resolve(name);
+        if (Files.exists(target)) {
+            Files.delete(tmp); // 이미 같은 내용이 있음 (중복 제거)
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                Files.deleteIfExists(tmp); // 동시에 같은 파일이 올라온 경우
+            }
+        }
+        return new StoredAttachment(name, hash, size);
+    }
+
+    /** 첨부 이름 → 파일 경로. 형식이 맞지 않으면 IllegalArgumentException (경로 조작 방지) */
+    public Path resolve(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("invalid attachment name");
+        }
+        return baseDir.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+
+    /** 파생 이미지 경로: 원본과 같은 디렉터리의 {해시}-w{폭}.{포맷} */
+    public Path resolveVariant(String name, int width) {
+        Path original = resolve(name);
+        return original.resolveSibling(hashOf(name) + "-w" + width + "." + ImageVariants.formatOf(name));
+    }
+
+    public Path getBaseDir() {
+        return baseDir;
+    }
+
+    static String hashOf(String name) {
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String ext = filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(ext).matches() ? ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
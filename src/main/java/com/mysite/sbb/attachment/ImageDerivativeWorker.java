@@ -0,0 +1,243 @@
+package com.mysite.sbb.attachment;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PENDING 상태의 이미지에 대해 파생 이미지(폭별 축소본)를 만든다.
+ * 고정 크기 스레드 풀에서 처리하고, 풀에 남은 자리만큼만 DB에서 작업을 가져온다.
+ */
+@Slf4j
+@Component
+public class ImageDerivativeWorker {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final AttachmentImageRepository imageRepo;
+    private final AttachmentStore store;
+    private final ThreadPoolExecutor executor;
+    private final int workers;
+    private final long maxPixels;
+    /** 실행 중/대기 중인 작업 (중복 제출 방지) */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeWorker(AttachmentImageRepository imageRepo, AttachmentStore store,
+            @Value("${sbb.attachments.image-workers:2}") int workers,
+            @Value("${sbb.attachments.max-image-pixels:50000000}") long maxPixels) {
+        this.imageRepo = imageRepo;
+        this.store = store;
+        this.maxPixels = maxPixels;
+        this.workers = Math.max(1, workers);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.workers, this.workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.workers * 2), r -> {
+                    Thread t = new Thread(r, "image-derivative-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY); // 요청 처리보다 뒤로
+                    return t;
+                });
+    }
+
+    @Scheduled(initialDelayString = "${sbb.attachments.image-poll-initial-delay-ms:5000}",
+            fixedDelayString = "${sbb.attachments.image-poll-delay-ms:2000}")
+    public void poll() {
+        int capacity = workers * 3 - inFlight.size();
+        if (capacity <= 0) {
+            return;
+        }
+        for (AttachmentImage img : imageRepo.findByStatusOrderByIdAsc(AttachmentImage.Status.PENDING,
+                PageRequest.of(0, capacity + inFlight.size()))) {
+            if (inFlight.size() >= workers * 3) {
+                break;
+            }
+            if (inFlight.add(img.getId())) {
+                try {
+                    executor.execute(() -> process(img.getId()));
+                } catch (RejectedExecutionException e) {
+                    inFlight.remove(img.getId()); // 다음 주기에 다시
+                    break;
+                }
+            }
+        }
+    }
+
+    private void process(Long id) {
+        try {
+            AttachmentImage img = imageRepo.findById(id).orElse(null);
+            if (img == null || img.getStatus() != AttachmentImage.Status.PENDING) {
+                return;
+            }
+            if ((long) img.getWidth() * img.getHeight() > maxPixels) {
+                // 상한 도입 전에 등록된 거대 이미지: 디코딩하지 않고 원본만 제공
+                img.setStatus(AttachmentImage.Status.FAILED);
+                img.setProcessedAt(LocalDateTime.now());
+                imageRepo.save(img);
+                log.warn("image derivative skipped for {} ({}x{} over pixel limit)",
+                        img.getName(), img.getWidth(), img.getHeight());
+                return;
+            }
+            try {
+                generate(img.getName(), img.getWidth(), img.getHeight());
+                img.setStatus(AttachmentImage.Status.READY);
+            } catch (Exception | Error e) {
+                // OutOfMemoryError 등도 실패 횟수에 넣어야 MAX_ATTEMPTS에서 멈춤 (안 그러면 PENDING으로 계속 재시도)
+                img.setAttempts(img.getAttempts() + 1);
+                if (img.getAttempts() >= MAX_ATTEMPTS) {
+                    img.setStatus(AttachmentImage.Status.FAILED);
+                }
+                log.warn("image derivative failed for {} (attempt {})", img.getName(), img.getAttempts(), e);
+            }
+            img.setProcessedAt(LocalDateTime.now());
+            imageRepo.save(img);
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    /** 원본보다 작은 폭마다 축소본 생성 (gif는 만들지 않음) */
+    void generate(String name, int originalWidth, int originalHeight) throws IOException {
+        if (!ImageVariants.hasVariants(name)) {
+            return;
+        }
+        int largest = 0;
+        for (int w : ImageVariants.WIDTHS) {
+            if (w < originalWidth) {
+                largest = Math.max(largest, w);
+            }
+        }
+        if (largest == 0) {
+            return; // 이미 충분히 작음
+        }
+        BufferedImage source = read(store.resolve(name), originalWidth, originalHeight, largest);
+        for (int w : ImageVariants.WIDTHS) {
+            if (w >= originalWidth) {
+                continue;
+            }
+            Path target = store.resolveVariant(name, w);
+            if (Files.exists(target)) {
+                continue;
+            }
+            write(scale(source, w, ImageVariants.formatOf(name)), ImageVariants.formatOf(name), target);
+        }
+    }
+
+    /**
+     * 큰 원본은 디코딩 단계에서 서브샘플링해서 메모리 사용을 줄임.
+     * 폭은 가장 큰 목표 폭의 2배 정도까지, 픽셀 수는 그 정사각형 정도까지 (세로로 긴 이미지는 폭만 봐서는 줄지 않음)
+     */
+    private static BufferedImage read(Path file, int originalWidth, int originalHeight, int largestTarget)
+            throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("no image reader for " + file);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = subsampling(originalWidth, originalHeight, largestTarget * 2);
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static int subsampling(int width, int height, int decodeWidth) {
+        long budget = (long) decodeWidth * decodeWidth;
+        int factor = Math.max(1, width / decodeWidth);
+        while ((long) ceilDiv(width, factor) * ceilDiv(height, factor) > budget) {
+            factor++;
+        }
+        return factor;
+    }
+
+    private static long ceilDiv(int value, int divisor) {
+        return (value + (long) divisor - 1) / divisor;
+    }
+
+    private static BufferedImage scale(BufferedImage src, int width, String format) {
+        int height = Math.max(1, (int) Math.round((double) src.getHeight() * width / src.getWidth()));
+        int type = format.equals("png") ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = src;
+        // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 단계적으로 줄임
+        while (current.getWidth() / 2 >= width) {
+            current = draw(current, current.getWidth() / 2,
+                    Math.max(1, current.getHeight() / 2), type);
+        }
+        return draw(current, width, height, type);
+    }
+
+    private static BufferedImage draw(BufferedImage src, int width, int height, int type) {
+        BufferedImage dst = new BufferedImage(width, height, type);
+        Graphics2D g = dst.createGraphics();
+        try {
+            if (type == BufferedImage.TYPE_INT_RGB) {
+                g.setColor(Color.WHITE); // jpg는 투명 배경을 흰색으로
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private static void write(BufferedImage img, String format, Path target) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".part");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format.equals("jpg")) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,5 @@
+package com.mysite.sbb.attachment;
+
+/** 원본 이미지 크기(px) */
+public record ImageSize(int width, int height) {
+}
@@ -0,0 +1,22 @@
+package com.mysite.sbb.attachment;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/** 첨부 이름 → 원본 이미지 크기 (이미지가 아니거나 모르면 empty) */
+@FunctionalInterface
+public interface ImageSizeResolver {
+
+    Optional<ImageSize> sizeOf(String attachmentName);
+
+    /** 여러 이름을 한 번에 (모르는 이름은 결과에 없음). 기본 구현은 하나씩 조회 */
+    default Map<String, ImageSize> sizesOf(Collection<String> attachmentNames) {
+        Map<String, ImageSize> sizes = new HashMap<>();
+        for (String name : attachmentNames) {
+            sizeOf(name).ifPresent(size -> sizes.put(name, size));
+        }
+        return sizes;
+    }
+}
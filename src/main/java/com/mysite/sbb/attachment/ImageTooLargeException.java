@@ -0,0 +1,14 @@
+package com.mysite.sbb.attachment;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** 픽셀 수가 상한(sbb.attachments.max-image-pixels)을 넘는 이미지 업로드. 파일 크기는 작아도 디코딩에 메모리가 많이 든다 */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "image too large")
+public class ImageTooLargeException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public ImageTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,48 @@
+package com.mysite.sbb.attachment;
+
+import java.util.Set;
+
+/**
+ * 파생 이미지 규칙.
+ * /attachments/{name}?w={width} 로 요청하며, 아직 만들어지지 않았으면 원본으로 응답한다.
+ */
+public final class ImageVariants {
+
+    /** 생성할 가로 폭(px). 원본보다 작은 것만 만든다 */
+    public static final int[] WIDTHS = { 320, 800, 1600 };
+
+    /** 본문에 기본으로 쓰는 폭 */
+    public static final int DEFAULT_WIDTH = 800;
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+    private ImageVariants() {
+    }
+
+    public static boolean isImage(String name) {
+        return IMAGE_EXTENSIONS.contains(AttachmentStore.extension(name));
+    }
+
+    public static boolean isVariantWidth(int width) {
+        for (int w : WIDTHS) {
+            if (w == width) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 축소본을 만드는 이미지인지. gif는 애니메이션이 첫 프레임만 남으므로 원본 그대로 쓴다 */
+    public static boolean hasVariants(String name) {
+        return isImage(name) && !AttachmentStore.extension(name).equals("gif");
+    }
+
+    /** 파생 이미지 포맷: 투명도가 있을 수 있는 png는 png, 나머지는 jpg */
+    public static String formatOf(String name) {
+        return AttachmentStore.extension(name).equals("png") ? "png" : "jpg";
+    }
+
+    public static String url(String name, int width) {
+        return "/attachments/" + name + "?w=" + width;
+    }
+}
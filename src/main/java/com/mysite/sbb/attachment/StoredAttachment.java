@@ -0,0 +1,9 @@
+package com.mysite.sbb.attachment;
+
+/** 저장된 첨부: name = {sha256}.{ext}, url은 /attachments/{name} */
+public record StoredAttachment(String name, String hash, long size) {
+
+    public String url() {
+        return "/attachments/" + name;
+    }
+}
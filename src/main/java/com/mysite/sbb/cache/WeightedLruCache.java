@@ -0,0 +1,107 @@
+package com.mysite.sbb.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 가중치(바이트/문자 수 등) 기준으로 용량을 제한하는 LRU 캐시.
+ * 값 계산은 락 밖에서 수행하므로 느린 로더가 다른 조회를 막지 않는다.
+ */
+public class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(256, 0.75f, true);
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public V get(K key) {
+        V v;
+        synchronized (this) {
+            v = map.get(key);
+        }
+        if (v == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return v;
+    }
+
+    /** 캐시에 없으면 loader로 계산해서 넣고 반환 */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V v = get(key);
+        if (v != null) {
+            return v;
+        }
+        v = loader.apply(key);
+        if (v != null) {
+            put(key, v);
+        }
+        return v;
+    }
+
+    public synchronized void put(K key, V value) {
+        long w = weigher.applyAsLong(value);
+        if (w > maxWeight) {
+            // 단일 항목이 전체 용량보다 크면 캐싱하지 않음
+            remove(key);
+            return;
+        }
+        V old = map.put(key, value);
+        if (old != null) {
+            weight -= weigher.applyAsLong(old);
+        }
+        weight += w;
+        evictIfNeeded();
+    }
+
+    public synchronized V remove(K key) {
+        V old = map.remove(key);
+        if (old != null) {
+            weight -= weigher.applyAsLong(old);
+        }
+        return old;
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            weight -= weigher.applyAsLong(eldest.getValue());
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), map.size(), weight, maxWeight);
+    }
+
+    public record Stats(long hits, long misses, long evictions, long size, long weight, long maxWeight) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
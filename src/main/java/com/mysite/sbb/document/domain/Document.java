@@ -4,6 +4,7 @@ import com.mysite.sbb.user.SiteUser;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,14 +12,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "documents", indexes = {
-        @Index(name = "idx_documents_slug", columnList = "slug", unique = true)
+        @Index(name = "idx_documents_slug", columnList = "slug", unique = true),
+        @Index(name = "idx_documents_updated_at_id", columnList = "updated_at, id") // 검색 인덱스 따라잡기 (목록은 document_listings)
 })
 @Getter
 @Setter
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // H2/MySQL 공통
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documents_seq") // pooled: JDBC 배치 가능
+    @SequenceGenerator(name = "documents_seq", sequenceName = "documents_seq", allocationSize = 50)
     private Long id;
 
     /** 문서 URL용 키 (예: ragnar-lothbrok, q-123) */
@@ -41,6 +44,14 @@ public class Document {
     @ManyToOne(fetch = FetchType.LAZY)
     private SiteUser createdBy;
 
+    /** 마지막 리비전 번호 (리비전 목록을 읽지 않고 다음 번호를 정하기 위해) */
+    private Integer currentVersion;
+
+    /** 낙관적 잠금 (동시에 커밋된 두 수정 중 늦은 쪽은 실패 → 병합 후 재시도) */
+    @Version
+    @ColumnDefault("0") // 기존 행은 0부터
+    private Long lockVersion = 0L;
+
     /** 생성/수정 시각 */
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,50 @@
+package com.mysite.sbb.document.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 문서 목록용 읽기 모델 (문서당 한 행).
+ * 작성자 이름/섹션 수 등을 미리 풀어 저장해서 /docs 목록이 조인 없이 이 테이블 하나만 읽게 한다.
+ * 문서 생성/수정 트랜잭션 안에서 DocumentSavedEvent로 갱신된다 (DocumentListingProjector).
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "document_listings", indexes = {
+        @Index(name = "idx_document_listings_updated_at_id", columnList = "updated_at, document_id") // 목록 키셋 페이지네이션
+})
+public class DocumentListing {
+
+    /** 요약 발췌 최대 길이 */
+    public static final int EXCERPT_LENGTH = 200;
+
+    /** 문서 id 그대로 (문서와 1:1) */
+    @Id
+    private Long documentId;
+
+    @Column(nullable = false, length = 160)
+    private String slug;
+
+    @Column(nullable = false)
+    private String title;
+
+    /** 요약 앞부분 */
+    @Column(length = EXCERPT_LENGTH)
+    private String summaryExcerpt;
+
+    /** 작성자 / 마지막 편집자 username */
+    private String authorName;
+    private String lastEditorName;
+
+    private Integer sectionCount;
+
+    /** 문서 currentVersion */
+    private Integer version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
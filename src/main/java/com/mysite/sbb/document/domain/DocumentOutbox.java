@@ -0,0 +1,51 @@
+package com.mysite.sbb.document.domain;
+
+import com.mysite.sbb.user.SiteUser;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아직 리비전으로 옮겨지지 않은 문서 변경 (트랜잭셔널 아웃박스).
+ * 문서 수정과 같은 트랜잭션에서 변경분만 기록하고, RevisionOutboxWorker가 리비전 행으로 옮긴 뒤 지운다.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "document_outbox", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_document_version", columnNames = { "document_id", "version" })
+})
+public class DocumentOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_outbox_seq")
+    @SequenceGenerator(name = "document_outbox_seq", sequenceName = "document_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Document document;
+
+    private Integer version;
+
+    /** true면 payload가 전체 스냅샷 (생성 시점), 아니면 직전 버전 대비 델타 */
+    private boolean snapshot;
+
+    @Column(columnDefinition = "TEXT")
+    private String payloadJson;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private SiteUser editor;
+
+    private LocalDateTime createdAt;
+
+    /** 워커 처리 실패 횟수. 상한에 닿으면 더 가져가지 않음 (로그 확인 후 수동 처리) */
+    private int attempts;
+
+    /** 마지막 실패 사유 */
+    @Column(length = 1000)
+    private String lastError;
+
+    /** 실패 후 이 시각까지는 다시 시도하지 않음 (지수 백오프) */
+    private LocalDateTime nextAttemptAt;
+}
@@ -10,10 +10,13 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "document_revisions")
+@Table(name = "document_revisions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revisions_document_version", columnNames = { "document_id", "version" })
+})
 public class DocumentRevision {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_revisions_seq")
+    @SequenceGenerator(name = "document_revisions_seq", sequenceName = "document_revisions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,10 +25,20 @@ public class DocumentRevision {
     private Integer version;
 
     @Column(columnDefinition = "TEXT")
-    private String snapshotJson; // 수정 시점의 전체 스냅샷(JSON)
+    private String snapshotJson; // 키프레임: 수정 시점의 전체 스냅샷(JSON)
+
+    @Column(columnDefinition = "TEXT")
+    private String deltaJson; // 키프레임이 아니면 직전 버전 대비 변경분(JSON)
+
+    /** 이 버전의 변경분 크기(문자 수, 생성 시점은 전체 스냅샷). 히스토리 목록에서 스냅샷을 읽지 않고 보여주기 위해 */
+    private Integer changeSize;
 
     @ManyToOne(fetch = FetchType.LAZY)
     private SiteUser editor;
 
     private LocalDateTime createdAt;
+
+    public boolean isKeyframe() {
+        return snapshotJson != null;
+    }
 }
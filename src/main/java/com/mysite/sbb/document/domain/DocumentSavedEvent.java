@@ -0,0 +1,19 @@
+package com.mysite.sbb.document.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 문서가 생성/수정됨 (목록 읽기 모델 갱신용).
+ * 리스너가 문서/섹션을 다시 읽지 않도록 목록에 필요한 값을 모두 담는다.
+ */
+public record DocumentSavedEvent(
+        Long documentId,
+        String slug,
+        String title,
+        String summary,
+        String authorName,
+        String editorName,
+        int sectionCount,
+        Integer version,
+        LocalDateTime updatedAt) {
+}
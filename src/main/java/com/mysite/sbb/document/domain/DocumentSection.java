@@ -8,10 +8,13 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "document_sections")
+@Table(name = "document_sections", indexes = {
+        @Index(name = "idx_document_sections_doc_order", columnList = "document_id, order_index") // 목차/앞쪽 섹션 조회
+})
 public class DocumentSection {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_sections_seq")
+    @SequenceGenerator(name = "document_sections_seq", sequenceName = "document_sections_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,6 +29,13 @@ public class DocumentSection {
     @Column(columnDefinition = "TEXT")
     private String contentMd;
 
+    /** 저장 시점에 미리 렌더링한 HTML (읽기 경로에서 파싱하지 않도록) */
+    @Column(columnDefinition = "TEXT")
+    private String contentHtml;
+
+    /** contentHtml을 만든 렌더러 버전 (MarkdownService.RENDERER_VERSION과 다르면 재렌더링 대상) */
+    private Integer rendererVersion;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.mysite.sbb.document.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mysite.sbb.document.domain.DocumentSection;
+
+import java.util.List;
+
+/** 리비전 시점의 문서 상태 (제목/요약/섹션 목록) */
+public record DocumentSnapshot(
+        String title,
+        String summary,
+        List<Section> sections) {
+
+    public record Section(
+            @JsonInclude(JsonInclude.Include.NON_NULL) Long id,
+            String heading,
+            String contentMd) {
+    }
+
+    public static DocumentSnapshot of(String title, String summary, List<DocumentSection> sections) {
+        return new DocumentSnapshot(title, summary, sections.stream()
+                .map(s -> new Section(s.getId(), s.getHeading(), s.getContentMd()))
+                .toList());
+    }
+}
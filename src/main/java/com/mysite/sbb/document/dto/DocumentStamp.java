@@ -0,0 +1,22 @@
+package com.mysite.sbb.document.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/** 조건부 GET 판단용 문서 식별 정보 (섹션/본문 없이 slug 인덱스 한 번으로 조회) */
+public record DocumentStamp(
+        Long id,
+        LocalDateTime updatedAt,
+        Integer currentVersion) {
+
+    /** 문서 버전 + 수정 시각 + 렌더러 버전 → 렌더러가 바뀌면 같은 문서라도 다시 받게 함 */
+    public String etag(int rendererVersion) {
+        return "\"d" + id + "-v" + (currentVersion == null ? 0 : currentVersion)
+                + "-" + lastModified() + "-r" + rendererVersion + "\"";
+    }
+
+    /** epoch millis (없으면 -1: Last-Modified 생략) */
+    public long lastModified() {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
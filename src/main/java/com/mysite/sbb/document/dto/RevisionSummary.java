@@ -0,0 +1,11 @@
+package com.mysite.sbb.document.dto;
+
+import java.time.LocalDateTime;
+
+/** 히스토리 목록 한 줄 (스냅샷/델타 본문 제외) */
+public record RevisionSummary(
+        Integer version,
+        String editorName,
+        LocalDateTime createdAt,
+        Integer changeSize) {
+}
@@ -1,9 +1,13 @@
 package com.mysite.sbb.document.dto;
 
 import jakarta.validation.constraints.NotBlank;
-import java.util.List;
 
 public record SectionDto(
         @NotBlank String heading,
-        @NotBlank String contentMd) {
+        @NotBlank String contentMd,
+        Long id) { // 기존 섹션 수정이면 그 섹션 id (새 섹션이면 null)
+
+    public SectionDto(String heading, String contentMd) {
+        this(heading, contentMd, null);
+    }
 }
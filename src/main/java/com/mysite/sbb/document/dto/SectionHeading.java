@@ -0,0 +1,8 @@
+package com.mysite.sbb.document.dto;
+
+/** 목차 한 줄 (본문 없이 id/제목만) */
+public record SectionHeading(
+        Long id,
+        String heading,
+        Integer orderIndex) {
+}
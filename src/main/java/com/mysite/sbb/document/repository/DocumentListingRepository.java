@@ -0,0 +1,36 @@
+package com.mysite.sbb.document.repository;
+
+import com.mysite.sbb.document.domain.DocumentListing;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DocumentListingRepository extends JpaRepository<DocumentListing, Long> {
+
+    /** 키셋 목록 첫 페이지 (pageable은 개수 제한용, COUNT 없음) */
+    @Query("select l from DocumentListing l order by l.updatedAt desc, l.documentId desc")
+    List<DocumentListing> findLatest(Pageable limit);
+
+    /** 키셋 목록: (updatedAt, documentId) 커서 이후 */
+    @Query("select l from DocumentListing l where l.updatedAt < :at or (l.updatedAt = :at and l.documentId < :id) "
+            + "order by l.updatedAt desc, l.documentId desc")
+    List<DocumentListing> findLatestAfter(@Param("at") LocalDateTime at, @Param("id") Long id, Pageable limit);
+
+    /** 읽기 모델 도입 전 문서들의 행을 한 문장으로 채움 (이미 행이 있는 문서는 건너뜀) */
+    @Modifying
+    @Query("insert into DocumentListing (documentId, slug, title, summaryExcerpt, authorName, lastEditorName, "
+            + "sectionCount, version, updatedAt) "
+            + "select d.id, d.slug, d.title, substring(d.summary, 1, " + DocumentListing.EXCERPT_LENGTH + "), u.username, "
+            + "(select e.username from DocumentRevision r join r.editor e "
+            + "where r.document = d and r.version = d.currentVersion), "
+            + "cast((select count(s) from DocumentSection s where s.document = d) as Integer), "
+            + "coalesce(d.currentVersion, 0), coalesce(d.updatedAt, d.createdAt) "
+            + "from Document d left join d.createdBy u "
+            + "where not exists (select 1 from DocumentListing l where l.documentId = d.id)")
+    int backfillMissing();
+}
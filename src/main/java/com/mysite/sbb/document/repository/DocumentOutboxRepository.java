@@ -0,0 +1,28 @@
+package com.mysite.sbb.document.repository;
+
+import com.mysite.sbb.document.domain.DocumentOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DocumentOutboxRepository extends JpaRepository<DocumentOutbox, Long> {
+
+    /**
+     * 오래된 순으로 처리할 문서 id (워커 배치 단위).
+     * 백오프 중이거나 시도 횟수를 다 쓴 항목은 빼서, 막힌 문서가 배치를 차지해 새 수정이 밀리지 않게 한다
+     */
+    @Query("select o.document.id from DocumentOutbox o "
+            + "where o.attempts < :maxAttempts and (o.nextAttemptAt is null or o.nextAttemptAt <= :now) "
+            + "group by o.document.id order by min(o.id)")
+    List<Long> findPendingDocumentIds(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now,
+            Pageable limit);
+
+    List<DocumentOutbox> findByDocumentIdOrderByVersionAsc(Long documentId);
+
+    /** 복원용: version 이하의 대기 중 변경 */
+    List<DocumentOutbox> findByDocumentIdAndVersionLessThanEqualOrderByVersionAsc(Long documentId, Integer version);
+}
@@ -1,8 +1,13 @@
 package com.mysite.sbb.document.repository;
 
 import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.dto.DocumentStamp;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
@@ -10,5 +15,21 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
 
     boolean existsBySlug(String slug);
 
+    /**
+     * base 자신과 번호가 붙었을 수 있는 base-* slug들 (slug에는 '-'와 글자/숫자만 있으므로 LIKE 이스케이프 불필요).
+     * 전체 길이를 maxLength로 묶어서 base-guide-… 같은 다른 문서는 거의 읽지 않고, 개수는 limit까지
+     */
+    @Query("select d.slug from Document d where d.slug = :base "
+            + "or (d.slug like concat(:base, '-%') and length(d.slug) <= :maxLength)")
+    List<String> findSlugCandidates(@Param("base") String base, @Param("maxLength") int maxLength, Pageable limit);
+
+    /** 조건부 GET 사전 확인용 (slug 유니크 인덱스 한 번, 엔티티/섹션 로딩 없음) */
+    @Query("select new com.mysite.sbb.document.dto.DocumentStamp(d.id, coalesce(d.updatedAt, d.createdAt), d.currentVersion) "
+            + "from Document d where d.slug = :slug")
+    Optional<DocumentStamp> findStampBySlug(@Param("slug") String slug);
+
     Page<Document> findByTitleContainingIgnoreCase(String q, Pageable pageable);
+
+    /** 검색 인덱스 따라잡기용 */
+    Slice<Document> findByUpdatedAtAfter(LocalDateTime since, Pageable pageable);
 }
@@ -2,10 +2,42 @@ package com.mysite.sbb.document.repository;
 
 import com.mysite.sbb.document.domain.Document;
 import com.mysite.sbb.document.domain.DocumentRevision;
+import com.mysite.sbb.document.dto.RevisionSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface DocumentRevisionRepository extends JpaRepository<DocumentRevision, Long> {
     List<DocumentRevision> findByDocumentOrderByVersionDesc(Document document);
+
+    /** 히스토리 목록용 프로젝션: 스냅샷 컬럼을 읽지 않고 편집자는 조인으로 한 번에 */
+    @Query(value = "select new com.mysite.sbb.document.dto.RevisionSummary(r.version, e.username, r.createdAt, r.changeSize) "
+            + "from DocumentRevision r left join r.editor e where r.document = :document",
+            countQuery = "select count(r) from DocumentRevision r where r.document = :document")
+    Page<RevisionSummary> findSummaries(@Param("document") Document document, Pageable pageable);
+
+    @Query("select max(r.version) from DocumentRevision r where r.document = :document")
+    Optional<Integer> findMaxVersion(@Param("document") Document document);
+
+    /** version 이하에서 가장 가까운 키프레임 */
+    Optional<DocumentRevision> findFirstByDocumentAndVersionLessThanEqualAndSnapshotJsonIsNotNullOrderByVersionDesc(
+            Document document, Integer version);
+
+    List<DocumentRevision> findByDocumentAndVersionBetweenOrderByVersionAsc(Document document, Integer from, Integer to);
+
+    List<DocumentRevision> findByDocumentIdOrderByVersionAsc(Long documentId);
+
+    /** 이미 저장된 버전 번호 (아웃박스 재처리 시 중복 방지) */
+    @Query("select r.version from DocumentRevision r where r.document.id = :docId and r.version between :from and :to")
+    List<Integer> findVersions(@Param("docId") Long docId, @Param("from") int from, @Param("to") int to);
+
+    /** 키프레임 위치가 아닌데 전체 스냅샷으로 저장된 리비전이 있는 문서 (델타 전환 대상) */
+    @Query("select distinct r.document.id from DocumentRevision r "
+            + "where r.snapshotJson is not null and r.version > 1 and mod(r.version - 1, :interval) <> 0")
+    List<Long> findDocumentIdsWithFullSnapshots(@Param("interval") int interval);
 }
@@ -1,9 +1,35 @@
 package com.mysite.sbb.document.repository;
 
 import com.mysite.sbb.document.domain.*;
+import com.mysite.sbb.document.dto.SectionHeading;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface DocumentSectionRepository extends JpaRepository<DocumentSection, Long> {
     List<DocumentSection> findByDocumentOrderByOrderIndexAsc(Document doc);
+
+    /** 목차 (본문/HTML 컬럼은 읽지 않음) */
+    @Query("select new com.mysite.sbb.document.dto.SectionHeading(s.id, s.heading, s.orderIndex) "
+            + "from DocumentSection s where s.document.id = :docId order by s.orderIndex asc")
+    List<SectionHeading> findHeadings(@Param("docId") Long docId);
+
+    /** 앞쪽 N개 섹션 (pageable은 개수 제한용) */
+    List<DocumentSection> findByDocumentIdOrderByOrderIndexAsc(Long documentId, Pageable limit);
+
+    /** 목차에서 읽은 id 묶음 (스트리밍 렌더링: OFFSET 없이 기본키로) */
+    List<DocumentSection> findByDocumentIdAndIdInOrderByOrderIndexAsc(Long documentId, Collection<Long> ids);
+
+    /** 섹션 조각 조회 (다른 문서의 섹션 id로 접근하지 못하게 slug도 확인) */
+    Optional<DocumentSection> findByIdAndDocumentSlug(Long id, String slug);
+
+    List<DocumentSection> findByDocumentIdIn(Collection<Long> documentIds);
+
+    /** 미리 렌더링된 HTML이 없거나 렌더러 버전이 다른 섹션 (백필 대상) */
+    Slice<DocumentSection> findByRendererVersionIsNullOrRendererVersionNot(Integer version, Pageable pageable);
 }
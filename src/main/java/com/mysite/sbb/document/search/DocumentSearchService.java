@@ -0,0 +1,199 @@
+package com.mysite.sbb.document.search;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentSection;
+import com.mysite.sbb.document.repository.DocumentRepository;
+import com.mysite.sbb.document.repository.DocumentSectionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 문서 전문 검색.
+ * 시작 시 디스크 세그먼트를 읽고 그 이후 변경분만 DB에서 따라잡으며, 세그먼트가 없으면 전체 재색인한다.
+ * 인덱스가 준비되기 전에는 기존 제목 LIKE 검색으로 응답한다.
+ */
+@Slf4j
+@Service
+public class DocumentSearchService {
+
+    /** 페이지 이동에 쓰는 상위 결과 개수 상한 */
+    private static final int MAX_HITS = 1000;
+    private static final int REBUILD_BATCH = 500;
+    /** 세그먼트 저장 직전에 시작된 트랜잭션의 변경도 놓치지 않도록 따라잡기 구간을 넉넉히 */
+    private static final long CATCH_UP_MARGIN_MINUTES = 5;
+
+    private final DocumentRepository docRepo;
+    private final DocumentSectionRepository sectionRepo;
+    private final TransactionTemplate readTx;
+    private final Path segmentFile;
+
+    private final SearchIndex index = new SearchIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public DocumentSearchService(DocumentRepository docRepo,
+            DocumentSectionRepository sectionRepo,
+            PlatformTransactionManager txManager,
+            @Value("${sbb.search.index-dir:${user.home}/sbb-search}") String indexDir) {
+        this.docRepo = docRepo;
+        this.sectionRepo = sectionRepo;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.segmentFile = Path.of(indexDir, "documents.seg");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        Thread t = new Thread(this::load, "search-index-init");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void load() {
+        long started = System.currentTimeMillis();
+        try {
+            if (Files.exists(segmentFile)) {
+                long checkpoint = index.readFrom(segmentFile);
+                LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(checkpoint), ZoneId.systemDefault())
+                        .minusMinutes(CATCH_UP_MARGIN_MINUTES);
+                int n = reindex(pr -> docRepo.findByUpdatedAtAfter(since, pr));
+                log.info("search index loaded: {} docs from segment, {} caught up ({} ms)",
+                        index.size(), n, System.currentTimeMillis() - started);
+            } else {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("search segment unusable, rebuilding: {}", e.getMessage());
+            rebuild();
+        }
+        ready = true;
+    }
+
+    /** 전체 재색인 */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        int n = reindex(pr -> docRepo.findAll(pr));
+        dirty.set(true);
+        log.info("search index rebuilt: {} docs ({} ms)", n, System.currentTimeMillis() - started);
+    }
+
+    private int reindex(Function<Pageable, Slice<Document>> source) {
+        int total = 0;
+        int page = 0;
+        while (true) {
+            PageRequest pr = PageRequest.of(page++, REBUILD_BATCH, Sort.by("id"));
+            Integer n = readTx.execute(status -> {
+                Slice<Document> docs = source.apply(pr);
+                if (!docs.hasContent()) {
+                    return 0;
+                }
+                List<Long> ids = docs.map(Document::getId).toList();
+                Map<Long, List<String>> bodies = sectionRepo.findByDocumentIdIn(ids).stream()
+                        .collect(Collectors.groupingBy(s -> s.getDocument().getId(),
+                                Collectors.mapping(DocumentSearchService::sectionText, Collectors.toList())));
+                for (Document d : docs) {
+                    index.put(d.getId(), d.getTitle(), d.getSummary(),
+                            bodies.getOrDefault(d.getId(), List.of()));
+                }
+                return docs.getNumberOfElements();
+            });
+            if (n == null || n == 0) {
+                return total;
+            }
+            total += n;
+            if (n < REBUILD_BATCH) {
+                return total;
+            }
+        }
+    }
+
+    /** 커밋 이후 색인 반영 (롤백된 변경이 검색에 보이지 않도록) */
+    public void indexAfterCommit(Document doc, List<DocumentSection> sections) {
+        long id = doc.getId();
+        String title = doc.getTitle();
+        String summary = doc.getSummary();
+        List<String> bodies = sections.stream().map(DocumentSearchService::sectionText).toList();
+        Runnable task = () -> {
+            index.put(id, title, summary, bodies);
+            dirty.set(true);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /** 검색어로 랭킹순 페이지 조회 */
+    @Transactional(readOnly = true)
+    public Page<Document> search(String q, Pageable pageable) {
+        if (!ready) {
+            return docRepo.findByTitleContainingIgnoreCase(q, pageable);
+        }
+        int limit = (int) Math.min(MAX_HITS, pageable.getOffset() + pageable.getPageSize());
+        SearchIndex.Result result = index.search(q, limit);
+        List<Long> ids = result.ids();
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        List<Long> pageIds = ids.subList(from, ids.size());
+
+        Map<Long, Document> byId = docRepo.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+        List<Document> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Document d = byId.get(id);
+            if (d != null) {
+                content.add(d);
+            }
+        }
+        return new PageImpl<>(content, pageable, Math.min(result.total(), MAX_HITS));
+    }
+
+    /** 변경이 있으면 세그먼트 저장 */
+    @Scheduled(fixedDelayString = "${sbb.search.flush-delay-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        if (!ready || !dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Files.createDirectories(segmentFile.getParent());
+            index.writeTo(segmentFile, System.currentTimeMillis());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("failed to write search segment {}", segmentFile, e);
+        }
+    }
+
+    private static String sectionText(DocumentSection s) {
+        return Objects.requireNonNullElse(s.getHeading(), "") + "\n"
+                + Objects.requireNonNullElse(s.getContentMd(), "");
+    }
+}
@@ -0,0 +1,345 @@
+package com.mysite.sbb.document.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 문서 단위 역색인 + BM25 랭킹.
+ * <p>
+ * 문서마다 내부 번호(docNo)를 새로 부여하고, 수정/삭제된 문서의 예전 번호는 tombstone(live 비트 해제)으로만
+ * 표시한다. 그래서 갱신 비용은 해당 문서의 토큰 수에 비례하고, 죽은 항목이 많아지면 한 번에 압축한다.
+ * 필드 가중치는 제목 &gt; 요약 &gt; 본문 순으로 tf에 곱해서 반영한다.
+ */
+public class SearchIndex {
+
+    static final int TITLE_WEIGHT = 5;
+    static final int SUMMARY_WEIGHT = 2;
+    static final int BODY_WEIGHT = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int SEGMENT_MAGIC = 0x53425358; // "SBSX"
+    private static final int SEGMENT_FORMAT = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docNoById = new HashMap<>();
+    private long[] docIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private final BitSet live = new BitSet();
+    private int nextDocNo;
+    private long liveLength;
+
+    /** 검색 결과: 상위 문서 id(점수순)와 매칭된 전체 문서 수 */
+    public record Result(List<Long> ids, int total) {
+    }
+
+    /** 문서 추가/교체 */
+    public void put(long docId, String title, String summary, Collection<String> bodies) {
+        Map<String, Integer> tf = new HashMap<>();
+        int length = 0;
+        length += count(tf, title, TITLE_WEIGHT);
+        length += count(tf, summary, SUMMARY_WEIGHT);
+        for (String body : bodies) {
+            length += count(tf, body, BODY_WEIGHT);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            int docNo = nextDocNo++;
+            ensureCapacity(docNo + 1);
+            docIds[docNo] = docId;
+            docLengths[docNo] = length;
+            live.set(docNo);
+            liveLength += length;
+            docNoById.put(docId, docNo);
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new Postings()).add(docNo, e.getValue());
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docNoById.clear();
+            live.clear();
+            nextDocNo = 0;
+            liveLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNoById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(String query, int limit) {
+        LinkedHashSet<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            int n = docNoById.size();
+            if (n == 0) {
+                return new Result(List.of(), 0);
+            }
+            double avgLength = Math.max(1.0, (double) liveLength / n);
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null) {
+                    continue;
+                }
+                int df = 0;
+                for (int i = 0; i < p.size; i++) {
+                    if (live.get(p.docNos[i])) {
+                        df++;
+                    }
+                }
+                if (df == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < p.size; i++) {
+                    int docNo = p.docNos[i];
+                    if (!live.get(docNo)) {
+                        continue;
+                    }
+                    int tf = p.tfs[i];
+                    double norm = K1 * (1 - B + B * docLengths[docNo] / avgLength);
+                    scores.merge(docNo, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            PriorityQueue<Map.Entry<Integer, Double>> top =
+                    new PriorityQueue<>(Comparator.comparingDouble(Map.Entry::getValue));
+            for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+                if (top.size() < limit) {
+                    top.add(e);
+                } else if (e.getValue() > top.peek().getValue()) {
+                    top.poll();
+                    top.add(e);
+                }
+            }
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = docIds[top.poll().getKey()];
+            }
+            return new Result(Arrays.asList(ids), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 세그먼트 파일로 저장 (임시 파일에 쓰고 교체하므로 중간에 죽어도 이전 세그먼트는 온전함).
+     * checkpoint: 이 시각 이후 변경분은 재시작 시 DB에서 따라잡는다.
+     */
+    public void writeTo(Path file, long checkpoint) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(SEGMENT_MAGIC);
+            out.writeInt(SEGMENT_FORMAT);
+            out.writeLong(checkpoint);
+
+            // 살아있는 문서만 0..n-1로 번호를 다시 매겨 기록
+            int[] remap = new int[nextDocNo];
+            int n = 0;
+            out.writeInt(docNoById.size());
+            for (int docNo = live.nextSetBit(0); docNo >= 0; docNo = live.nextSetBit(docNo + 1)) {
+                remap[docNo] = n++;
+                out.writeLong(docIds[docNo]);
+                out.writeInt(docLengths[docNo]);
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> e : postings.entrySet()) {
+                Postings p = e.getValue();
+                int liveCount = 0;
+                for (int i = 0; i < p.size; i++) {
+                    if (live.get(p.docNos[i])) {
+                        liveCount++;
+                    }
+                }
+                out.writeUTF(e.getKey());
+                out.writeInt(liveCount);
+                for (int i = 0; i < p.size; i++) {
+                    if (live.get(p.docNos[i])) {
+                        out.writeInt(remap[p.docNos[i]]);
+                        out.writeInt(p.tfs[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** 세그먼트 파일을 읽어 이 인덱스를 교체하고 checkpoint를 반환 */
+    public long readFrom(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SEGMENT_MAGIC || in.readInt() != SEGMENT_FORMAT) {
+                throw new IOException("unsupported search segment: " + file);
+            }
+            long checkpoint = in.readLong();
+            lock.writeLock().lock();
+            try {
+                clear();
+                int n = in.readInt();
+                ensureCapacity(n);
+                for (int docNo = 0; docNo < n; docNo++) {
+                    docIds[docNo] = in.readLong();
+                    docLengths[docNo] = in.readInt();
+                    docNoById.put(docIds[docNo], docNo);
+                    liveLength += docLengths[docNo];
+                }
+                live.set(0, n);
+                nextDocNo = n;
+
+                int terms = in.readInt();
+                for (int t = 0; t < terms; t++) {
+                    String term = in.readUTF();
+                    int size = in.readInt();
+                    Postings p = new Postings(Math.max(size, 1));
+                    for (int i = 0; i < size; i++) {
+                        p.add(in.readInt(), in.readInt());
+                    }
+                    postings.put(term, p);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return checkpoint;
+        }
+    }
+
+    private void removeLocked(long docId) {
+        Integer old = docNoById.remove(docId);
+        if (old != null) {
+            live.clear(old);
+            liveLength -= docLengths[old];
+        }
+    }
+
+    /** 죽은 항목이 살아있는 항목보다 많아지면 번호를 다시 매겨 압축 */
+    private void compactIfNeeded() {
+        int dead = nextDocNo - docNoById.size();
+        if (dead < 1024 || dead < docNoById.size()) {
+            return;
+        }
+        int[] remap = new int[nextDocNo];
+        int n = 0;
+        for (int docNo = live.nextSetBit(0); docNo >= 0; docNo = live.nextSetBit(docNo + 1)) {
+            remap[docNo] = n;
+            docIds[n] = docIds[docNo];
+            docLengths[n] = docLengths[docNo];
+            docNoById.put(docIds[n], n);
+            n++;
+        }
+        List<String> empty = new ArrayList<>();
+        for (Map.Entry<String, Postings> e : postings.entrySet()) {
+            Postings p = e.getValue();
+            int w = 0;
+            for (int i = 0; i < p.size; i++) {
+                if (live.get(p.docNos[i])) {
+                    p.docNos[w] = remap[p.docNos[i]];
+                    p.tfs[w] = p.tfs[i];
+                    w++;
+                }
+            }
+            p.size = w;
+            if (w == 0) {
+                empty.add(e.getKey());
+            }
+        }
+        empty.forEach(postings::remove);
+        live.clear();
+        live.set(0, n);
+        nextDocNo = n;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > docIds.length) {
+            int newLength = Math.max(capacity, docIds.length * 2);
+            docIds = Arrays.copyOf(docIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+        }
+    }
+
+    private static int count(Map<String, Integer> tf, String text, int weight) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        for (String token : tokens) {
+            tf.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    /** 한 용어의 (docNo, tf) 목록. 박싱 없이 병렬 배열로 유지 */
+    private static final class Postings {
+        int[] docNos;
+        int[] tfs;
+        int size;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacity) {
+            docNos = new int[capacity];
+            tfs = new int[capacity];
+        }
+
+        void add(int docNo, int tf) {
+            if (size == docNos.length) {
+                docNos = Arrays.copyOf(docNos, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docNos[size] = docNo;
+            tfs[size] = tf;
+            size++;
+        }
+    }
+}
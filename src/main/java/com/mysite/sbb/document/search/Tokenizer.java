@@ -0,0 +1,70 @@
+package com.mysite.sbb.document.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색용 토크나이저.
+ * - 영문/숫자: 연속 구간을 소문자 단어 하나로
+ * - 한글/CJK: 형태소 분석 대신 2-gram (한 글자짜리 구간은 1-gram)
+ * 색인과 질의에 같은 규칙을 쓰므로 "위키문서" 질의가 "위키 문서는" 본문과도 매칭된다.
+ */
+public final class Tokenizer {
+
+    /** 너무 긴 토큰(해시, URL 조각 등)은 색인하지 않음 */
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return out;
+        }
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjk = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                flushWord(word, out);
+                cjk.append(c);
+            } else if (Character.isLetterOrDigit(c)) {
+                flushCjk(cjk, out);
+                word.append(Character.toLowerCase(c));
+            } else {
+                flushWord(word, out);
+                flushCjk(cjk, out);
+            }
+        }
+        flushWord(word, out);
+        flushCjk(cjk, out);
+        return out;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> out) {
+        if (word.length() > 0 && word.length() <= MAX_TOKEN_LENGTH) {
+            out.add(word.toString());
+        }
+        word.setLength(0);
+    }
+
+    private static void flushCjk(StringBuilder run, List<String> out) {
+        int n = run.length();
+        if (n == 1) {
+            out.add(run.toString());
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            out.add(run.substring(i, i + 2));
+        }
+        run.setLength(0);
+    }
+
+    static boolean isCjk(char c) {
+        return (c >= '가' && c <= '힣')   // 한글 음절
+                || (c >= 'ᄀ' && c <= 'ᇿ') // 한글 자모
+                || (c >= '㄰' && c <= '㆏') // 호환 자모
+                || (c >= '一' && c <= '鿿') // 한자
+                || (c >= '぀' && c <= 'ヿ'); // 가나
+    }
+}
@@ -0,0 +1,66 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.document.domain.DocumentListing;
+import com.mysite.sbb.document.domain.DocumentSavedEvent;
+import com.mysite.sbb.document.repository.DocumentListingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 문서 목록 읽기 모델(DocumentListing) 갱신.
+ * 커밋 직전에 같은 트랜잭션 안에서 반영하므로 문서와 목록 행은 함께 커밋되거나 함께 롤백된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentListingProjector {
+
+    private final DocumentListingRepository listingRepo;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(DocumentSavedEvent e) {
+        DocumentListing row = listingRepo.findById(e.documentId()).orElseGet(() -> {
+            DocumentListing created = new DocumentListing();
+            created.setDocumentId(e.documentId());
+            return created;
+        });
+        row.setSlug(e.slug());
+        row.setTitle(e.title());
+        row.setSummaryExcerpt(excerpt(e.summary()));
+        if (e.authorName() != null) {
+            row.setAuthorName(e.authorName());
+        }
+        row.setLastEditorName(e.editorName());
+        row.setSectionCount(e.sectionCount());
+        row.setVersion(e.version());
+        row.setUpdatedAt(e.updatedAt());
+        listingRepo.save(row);
+    }
+
+    /** 읽기 모델 도입 전에 만들어진 문서의 행 채우기 (이미 있으면 아무것도 안 함) */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int n = listingRepo.backfillMissing();
+        if (n > 0) {
+            log.info("document listings backfilled: {} rows", n);
+        }
+    }
+
+    static String excerpt(String summary) {
+        if (summary == null || summary.length() <= DocumentListing.EXCERPT_LENGTH) {
+            return summary;
+        }
+        int end = DocumentListing.EXCERPT_LENGTH;
+        if (Character.isHighSurrogate(summary.charAt(end - 1))) {
+            end--; // 서로게이트 쌍을 자르지 않도록
+        }
+        return summary.substring(0, end);
+    }
+}
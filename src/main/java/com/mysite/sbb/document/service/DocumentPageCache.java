@@ -0,0 +1,102 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.cache.WeightedLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 비로그인 사용자용 문서 상세 페이지 출력 캐시 (slug → gzip 바이트).
+ * 항목마다 문서 버전 ETag를 함께 저장해서, 버전이 다르면 없는 것으로 취급한다.
+ * 같은 페이지를 동시에 요청하면 한 스레드만 렌더링하고 나머지는 그 결과를 기다린다.
+ */
+@Component
+public class DocumentPageCache {
+
+    /** 저장된 페이지. 본문은 gzip으로만 보관 (다른 인코딩을 추가할 때는 필드를 늘리면 됨) */
+    public record CachedPage(String etag, long lastModified, String contentType, byte[] gzip) {
+    }
+
+    private final WeightedLruCache<String, CachedPage> cache;
+    /** etag → 렌더링 중인 결과 */
+    private final ConcurrentHashMap<String, CompletableFuture<CachedPage>> loading = new ConcurrentHashMap<>();
+
+    public DocumentPageCache(@Value("${sbb.page-cache.max-bytes:33554432}") long maxBytes) {
+        this.cache = new WeightedLruCache<>(maxBytes, p -> p.gzip().length + 256L);
+    }
+
+    /** 현재 버전(etag)의 페이지가 있으면 반환 */
+    public CachedPage get(String slug, String etag) {
+        CachedPage page = cache.get(slug);
+        return page != null && page.etag().equals(etag) ? page : null;
+    }
+
+    /**
+     * 이 버전의 렌더링을 맡으면 null, 다른 스레드가 이미 렌더링 중이면 그 결과 future.
+     * null을 받은 쪽은 반드시 {@link #endLoad}를 호출해야 한다.
+     */
+    public CompletableFuture<CachedPage> beginLoad(String etag) {
+        return loading.putIfAbsent(etag, new CompletableFuture<>());
+    }
+
+    /** 렌더링 종료. page가 null이면(캐시 불가 응답) 기다리던 요청은 각자 렌더링한다 */
+    public void endLoad(String slug, String etag, CachedPage page) {
+        if (page != null) {
+            cache.put(slug, page);
+        }
+        CompletableFuture<CachedPage> pending = loading.remove(etag);
+        if (pending != null) {
+            pending.complete(page);
+        }
+    }
+
+    /** 커밋 이후 제거 (버전 검사로도 걸러지지만, 옛 페이지가 메모리를 차지하지 않도록) */
+    public void purgeAfterCommit(String slug) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(slug);
+                }
+            });
+        } else {
+            cache.remove(slug);
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public WeightedLruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] gunzip(byte[] gzip) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,33 +1,61 @@
 package com.mysite.sbb.document.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mysite.sbb.DataNotFoundException;
 import com.mysite.sbb.document.domain.Document;
-import com.mysite.sbb.document.domain.DocumentRevision;
+import com.mysite.sbb.document.domain.DocumentListing;
+import com.mysite.sbb.document.domain.DocumentSavedEvent;
 import com.mysite.sbb.document.domain.DocumentSection;
 import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.dto.DocumentStamp;
 import com.mysite.sbb.document.dto.SectionDto;
+import com.mysite.sbb.document.dto.SectionHeading;
+import com.mysite.sbb.document.repository.DocumentListingRepository;
 import com.mysite.sbb.document.repository.DocumentRepository;
 import com.mysite.sbb.document.repository.DocumentRevisionRepository;
 import com.mysite.sbb.document.repository.DocumentSectionRepository;
 import com.mysite.sbb.document.util.SlugGenerator;
+import com.mysite.sbb.paging.CursorPage;
+import com.mysite.sbb.paging.KeysetCursor;
 import com.mysite.sbb.user.SiteUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class DocumentService {
 
+    /** 슬러그 번호 후보를 한 번에 읽는 상한 */
+    private static final int SLUG_CANDIDATES = 1000;
+    /** 번호 꼬리 최대 자릿수 (int 범위) */
+    private static final int SLUG_SUFFIX_DIGITS = 9;
+
     private final DocumentRepository docRepo;
     private final DocumentSectionRepository sectionRepo;
     private final DocumentRevisionRepository revisionRepo;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MarkdownService markdownService;
+    private final RevisionService revisionService;
+    private final DocumentListingRepository listingRepo;
+    private final ApplicationEventPublisher events;
 
     /** 생성 */
     @Transactional
@@ -39,18 +67,20 @@ public class DocumentService {
                 ? SlugGenerator.toSlug(dto.slug())
                 : SlugGenerator.toSlug(dto.title());
 
-        String slug = ensureUniqueSlug(base); // 중복이면 -2, -3 … 붙임
+        String slug = ensureUniqueSlug(base);
 
         doc.setSlug(slug);
         doc.setTitle(dto.title());
         doc.setSummary(dto.summary());
         doc.setCoverImageUrl(dto.coverImageUrl());
         doc.setCreatedBy(author);
+        doc.setCurrentVersion(0);
         doc.setCreatedAt(LocalDateTime.now());
         doc.setUpdatedAt(LocalDateTime.now());
 
         Document saved = docRepo.save(doc);
 
+        List<DocumentSection> pending = new ArrayList<>();
         int i = 0;
         if (dto.sections() != null) {
             for (SectionDto s : dto.sections()) {
@@ -61,91 +91,276 @@ public class DocumentService {
                 sec.setContentMd(s.contentMd());
                 sec.setCreatedAt(LocalDateTime.now());
                 sec.setUpdatedAt(LocalDateTime.now());
-                sectionRepo.save(sec);
+                pending.add(sec);
             }
         }
+        markdownService.prerenderAll(pending); // 큰 문서는 섹션 단위로 병렬 렌더링
+        List<DocumentSection> created = sectionRepo.saveAll(pending);
+        // v0: 생성 시점 상태 (첫 수정들끼리 충돌했을 때 병합 기준). 리비전 행/검색 색인은 아웃박스 워커가
+        revisionService.enqueue(saved, author, null,
+                DocumentSnapshot.of(saved.getTitle(), saved.getSummary(), created), 0);
+        String authorName = author == null ? null : author.getUsername();
+        events.publishEvent(new DocumentSavedEvent(saved.getId(), slug, saved.getTitle(), saved.getSummary(),
+                authorName, authorName, created.size(), saved.getCurrentVersion(), saved.getUpdatedAt()));
         return saved;
     }
 
+    /** 최근 수정순 목록 (키셋, COUNT 없음). 목록 읽기 모델 테이블 하나만 읽음 */
+    @Transactional(readOnly = true)
+    public CursorPage<DocumentListing> listLatest(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<DocumentListing> fetched = after == null
+                ? listingRepo.findLatest(limit)
+                : listingRepo.findLatestAfter(after.at(), after.id(), limit);
+        return CursorPage.of(fetched, size, l -> new KeysetCursor(l.getUpdatedAt(), l.getDocumentId()));
+    }
+
+    /** 문서 버전/수정 시각만 조회 (304 판단용) */
+    @Transactional(readOnly = true)
+    public Optional<DocumentStamp> getStamp(String slug) {
+        return docRepo.findStampBySlug(slug);
+    }
+
     @Transactional(readOnly = true)
     public Document getBySlug(String slug) {
         return docRepo.findBySlug(slug)
                 .orElseThrow(() -> new IllegalArgumentException("document not found"));
     }
 
-    // 리비전 버전 계산
-    private int nextVersion(Document doc) {
-        return revisionRepo.findByDocumentOrderByVersionDesc(doc).stream()
-                .map(DocumentRevision::getVersion)
-                .findFirst().orElse(0) + 1;
+    /** 목차 (id/제목만) */
+    @Transactional(readOnly = true)
+    public List<SectionHeading> getHeadings(Document doc) {
+        return sectionRepo.findHeadings(doc.getId());
     }
 
-    // 문서 스냅샷(JSON)
-    private String snapshot(Document doc) {
-        try {
-            ObjectNode root = objectMapper.createObjectNode();
-            root.put("title", doc.getTitle());
-            root.put("summary", doc.getSummary());
-
-            ArrayNode arr = root.putArray("sections");
-            for (DocumentSection s : doc.getSections()) {
-                ObjectNode sec = objectMapper.createObjectNode();
-                sec.put("heading", s.getHeading());
-                sec.put("contentMd", s.getContentMd());
-                arr.add(sec);
-            }
-            return objectMapper.writeValueAsString(root);
-        } catch (Exception e) {
-            return "{}";
-        }
+    /** 앞쪽 count개 섹션 */
+    @Transactional(readOnly = true)
+    public List<DocumentSection> getLeadingSections(Document doc, int count) {
+        return sectionRepo.findByDocumentIdOrderByOrderIndexAsc(doc.getId(), PageRequest.ofSize(count));
     }
 
-    // 리비전 저장
-    private void saveRevision(Document doc, SiteUser editor, String snap, int version) {
-        DocumentRevision r = new DocumentRevision();
-        r.setDocument(doc);
-        r.setVersion(version);
-        r.setSnapshotJson(snap);
-        r.setEditor(editor);
-        r.setCreatedAt(LocalDateTime.now());
-        revisionRepo.save(r);
+    /** 목차에서 고른 섹션들을 순서대로 (스트리밍 렌더링용) */
+    @Transactional(readOnly = true)
+    public List<DocumentSection> getSections(Document doc, Collection<Long> ids) {
+        return sectionRepo.findByDocumentIdAndIdInOrderByOrderIndexAsc(doc.getId(), ids);
     }
 
-    /** 수정 + 리비전 */
+    @Transactional(readOnly = true)
+    public DocumentSection getSection(String slug, Long sectionId) {
+        return sectionRepo.findByIdAndDocumentSlug(sectionId, slug)
+                .orElseThrow(() -> new DataNotFoundException("section not found")); // 편집으로 지워진 섹션 등 → 404
+    }
+
+    // 리비전 버전 계산 (문서 행의 카운터 증가, 중복은 (document, version) 유니크 제약이 막음)
+    private int nextVersion(Document doc) {
+        Integer current = doc.getCurrentVersion();
+        if (current == null) {
+            // 카운터 도입 전 문서: 한 번만 MAX로 초기화
+            current = revisionRepo.findMaxVersion(doc).orElse(0);
+        }
+        doc.setCurrentVersion(current + 1);
+        return current + 1;
+    }
+
+    /** 수정 + 리비전 (기준 버전 확인 없음) */
     @Transactional
     public void update(String slug, String newTitle, String newSummary, List<SectionDto> sections, SiteUser editor) {
+        update(slug, newTitle, newSummary, sections, editor, null);
+    }
+
+    /**
+     * 수정 + 리비전.
+     * baseVersion(편집을 시작한 버전) 이후에 다른 수정이 있었으면 섹션 단위로 3-way 병합하고,
+     * 같은 부분을 서로 다르게 고친 경우에만 EditConflictException.
+     * 동시에 커밋되는 두 수정은 @Version이 막는다 (늦은 쪽 ObjectOptimisticLockingFailureException → 재시도하면 병합 경로).
+     */
+    @Transactional
+    public void update(String slug, String newTitle, String newSummary, List<SectionDto> sections, SiteUser editor,
+            Integer baseVersion) {
         Document doc = docRepo.findBySlug(slug)
                 .orElseThrow(() -> new IllegalArgumentException("document not found"));
 
-        // 기존 섹션 삭제 후 재삽입(MVP)
-        sectionRepo.deleteAll(sectionRepo.findByDocumentOrderByOrderIndexAsc(doc));
+        DocumentSnapshot before = DocumentSnapshot.of(doc.getTitle(), doc.getSummary(), doc.getSections());
+
+        Integer currentVersion = doc.getCurrentVersion();
+        if (baseVersion != null && currentVersion != null && !baseVersion.equals(currentVersion)) {
+            DocumentSnapshot merged = mergeWithCurrent(doc, baseVersion, before,
+                    new DocumentSnapshot(newTitle, newSummary, sections.stream()
+                            .map(s -> new DocumentSnapshot.Section(s.id(), s.heading(), s.contentMd()))
+                            .toList()));
+            newTitle = merged.title();
+            newSummary = merged.summary();
+            sections = merged.sections().stream()
+                    .map(s -> new SectionDto(s.heading(), s.contentMd(), s.id()))
+                    .toList();
+        }
 
         doc.setTitle(newTitle);
         doc.setSummary(newSummary);
+        List<DocumentSection> current = reconcileSections(doc, sections);
+        doc.setUpdatedAt(LocalDateTime.now());
 
-        int i = 0;
-        for (SectionDto s : sections) {
-            DocumentSection sec = new DocumentSection();
-            sec.setDocument(doc);
-            sec.setOrderIndex(i++);
-            sec.setHeading(s.heading());
-            sec.setContentMd(s.contentMd());
-            sec.setCreatedAt(LocalDateTime.now());
-            sec.setUpdatedAt(LocalDateTime.now());
-            sectionRepo.save(sec);
+        int version = nextVersion(doc);
+        // 문서 행(@Version)을 먼저 내보내서, 동시 수정에 진 쪽이 아웃박스 유니크 제약 위반이 아니라
+        // ObjectOptimisticLockingFailureException으로 끝나게 한다 (컨트롤러가 재시도 → 병합 경로)
+        docRepo.flush();
+        // 변경분만 아웃박스에 (리비전 행, 검색 색인, 페이지 캐시 정리는 RevisionOutboxWorker가 커밋 후에)
+        revisionService.enqueue(doc, editor, before,
+                DocumentSnapshot.of(newTitle, newSummary, current), version);
+        // 작성자는 바뀌지 않으므로 null (목록 행의 기존 값 유지, createdBy 지연 로딩 없음)
+        events.publishEvent(new DocumentSavedEvent(doc.getId(), slug, newTitle, newSummary,
+                null, editor == null ? null : editor.getUsername(), current.size(), version, doc.getUpdatedAt()));
+    }
+
+    /** 기준 버전 이후 커밋된 변경과 제출된 수정을 병합 (겹치는 변경이 있으면 EditConflictException) */
+    private DocumentSnapshot mergeWithCurrent(Document doc, int baseVersion, DocumentSnapshot current,
+            DocumentSnapshot submitted) {
+        int currentVersion = doc.getCurrentVersion();
+        DocumentSnapshot base;
+        try {
+            base = revisionService.materialize(doc, baseVersion);
+        } catch (IllegalArgumentException e) {
+            base = null; // 기준 버전 리비전 없음 (v0 도입 전 문서 등)
         }
-        doc.setUpdatedAt(LocalDateTime.now());
+        if (base == null || !SectionMerger.mergeable(base)) {
+            throw new EditConflictException(List.of("v" + baseVersion + " 이후 다른 수정 (기준 버전을 복원할 수 없음)"),
+                    currentVersion, submitted);
+        }
+        SectionMerger.Result result = SectionMerger.merge(base, current, submitted);
+        if (!result.conflicts().isEmpty()) {
+            throw new EditConflictException(result.conflicts(), currentVersion, result.merged());
+        }
+        return result.merged();
+    }
+
+    /**
+     * 들어온 섹션 목록을 기존 섹션 행과 맞춰서 바뀐 만큼만 반영.
+     * 1) id가 같은 섹션 → 2) 제목/본문이 같은 섹션 순으로 매칭하고,
+     * 내용이 바뀐 섹션만 UPDATE, 순서만 바뀐 섹션은 orderIndex만 UPDATE,
+     * 매칭 안 된 기존 섹션은 DELETE, 매칭 안 된 입력은 INSERT 한다. (섹션 id 유지 → 캐시/앵커 안정)
+     */
+    private List<DocumentSection> reconcileSections(Document doc, List<SectionDto> incoming) {
+        List<DocumentSection> existing = doc.getSections();
+        Map<Long, DocumentSection> unclaimed = new LinkedHashMap<>();
+        for (DocumentSection s : existing) {
+            unclaimed.put(s.getId(), s);
+        }
+
+        DocumentSection[] matched = new DocumentSection[incoming.size()];
+        for (int i = 0; i < incoming.size(); i++) {
+            Long id = incoming.get(i).id();
+            if (id != null) {
+                matched[i] = unclaimed.remove(id);
+            }
+        }
+
+        Map<List<String>, Deque<DocumentSection>> byContent = new HashMap<>();
+        for (DocumentSection s : unclaimed.values()) {
+            byContent.computeIfAbsent(Arrays.asList(s.getHeading(), s.getContentMd()), k -> new ArrayDeque<>()).add(s);
+        }
+        for (int i = 0; i < incoming.size(); i++) {
+            if (matched[i] == null) {
+                SectionDto dto = incoming.get(i);
+                Deque<DocumentSection> same = byContent.get(Arrays.asList(dto.heading(), dto.contentMd()));
+                if (same != null && !same.isEmpty()) {
+                    matched[i] = same.poll();
+                    unclaimed.remove(matched[i].getId());
+                }
+            }
+        }
+
+        // 남은 기존 섹션은 삭제 (orphanRemoval)
+        existing.removeAll(unclaimed.values());
 
-        saveRevision(doc, editor, snapshot(doc), nextVersion(doc));
+        LocalDateTime now = LocalDateTime.now();
+        List<DocumentSection> result = new ArrayList<>(incoming.size());
+        for (int i = 0; i < incoming.size(); i++) {
+            SectionDto dto = incoming.get(i);
+            DocumentSection sec = matched[i];
+            if (sec == null) {
+                sec = new DocumentSection();
+                sec.setDocument(doc);
+                sec.setOrderIndex(i);
+                sec.setHeading(dto.heading());
+                sec.setContentMd(dto.contentMd());
+                markdownService.prerender(sec);
+                sec.setCreatedAt(now);
+                sec.setUpdatedAt(now);
+                existing.add(sectionRepo.save(sec));
+            } else {
+                if (!Objects.equals(sec.getHeading(), dto.heading())
+                        || !Objects.equals(sec.getContentMd(), dto.contentMd())) {
+                    boolean bodyChanged = !Objects.equals(sec.getContentMd(), dto.contentMd());
+                    sec.setHeading(dto.heading());
+                    sec.setContentMd(dto.contentMd());
+                    if (bodyChanged) {
+                        markdownService.prerender(sec);
+                    }
+                    sec.setUpdatedAt(now);
+                }
+                if (!Objects.equals(sec.getOrderIndex(), i)) {
+                    sec.setOrderIndex(i);
+                }
+            }
+            result.add(sec);
+        }
+        existing.sort(Comparator.comparing(DocumentSection::getOrderIndex));
+        return result;
     }
 
-    /** 슬러그 유니크 보장 */
+    /** 슬러그 유니크 보장: 중복이면 -2, -3 … 중 비어 있는 첫 번호 (후보는 조회 한 번으로) */
     private String ensureUniqueSlug(String base) {
-        String candidate = base;
-        int n = 2;
-        while (docRepo.existsBySlug(candidate)) {
-            candidate = base + "-" + n++;
+        if (base.isEmpty()) {
+            base = "doc";
+        }
+        List<String> candidates = docRepo.findSlugCandidates(base, base.length() + 1 + SLUG_SUFFIX_DIGITS,
+                PageRequest.ofSize(SLUG_CANDIDATES));
+        // 상한에 걸렸으면 목록이 전부가 아니므로 빠진 번호는 하나씩 확인
+        boolean complete = candidates.size() < SLUG_CANDIDATES;
+        boolean baseTaken = false;
+        Set<Integer> taken = new HashSet<>();
+        for (String slug : candidates) {
+            if (slug.equals(base)) {
+                baseTaken = true;
+            } else {
+                Integer n = numericSuffix(slug, base);
+                if (n != null) {
+                    taken.add(n);
+                }
+            }
+        }
+        if (!baseTaken && (complete || !docRepo.existsBySlug(base))) {
+            return base;
+        }
+        for (int n = 2; ; n++) {
+            String suffix = "-" + n;
+            if (base.length() + suffix.length() <= SlugGenerator.MAX_LENGTH) {
+                if (!taken.contains(n) && (complete || !docRepo.existsBySlug(base + suffix))) {
+                    return base + suffix;
+                }
+            } else {
+                // 길이 제한으로 base를 잘라야 하면 접두어가 달라지므로 직접 확인 (드문 경우)
+                String candidate = SlugGenerator.truncate(base, SlugGenerator.MAX_LENGTH - suffix.length()) + suffix;
+                if (!docRepo.existsBySlug(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+    }
+
+    /** base-N 형태면 N, 아니면 null (base-guide, base-02 등은 번호 후보가 아님) */
+    private static Integer numericSuffix(String slug, String base) {
+        String tail = slug.substring(base.length() + 1);
+        if (tail.isEmpty() || tail.length() > SLUG_SUFFIX_DIGITS || tail.charAt(0) == '0') {
+            return null;
+        }
+        for (int i = 0; i < tail.length(); i++) {
+            char c = tail.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
         }
-        return candidate;
+        return Integer.valueOf(tail);
     }
 }
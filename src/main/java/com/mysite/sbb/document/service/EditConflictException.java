@@ -0,0 +1,27 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 편집 기준 버전 이후에 다른 수정이 커밋됐고, 같은 부분을 서로 다르게 고쳐서 자동 병합할 수 없음.
+ * proposal은 겹치지 않는 변경은 합치고 겹친 곳은 내 수정으로 채운 안 (편집 폼에 다시 보여줄 용도).
+ */
+@Getter
+public class EditConflictException extends RuntimeException {
+
+    /** 충돌한 부분 (제목/요약/섹션 제목) */
+    private final List<String> conflicts;
+    /** 지금 문서의 버전 (다시 저장할 때의 기준 버전) */
+    private final int currentVersion;
+    private final DocumentSnapshot proposal;
+
+    public EditConflictException(List<String> conflicts, int currentVersion, DocumentSnapshot proposal) {
+        super("edit conflict: " + conflicts);
+        this.conflicts = conflicts;
+        this.currentVersion = currentVersion;
+        this.proposal = proposal;
+    }
+}
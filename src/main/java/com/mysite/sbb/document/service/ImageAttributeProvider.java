@@ -0,0 +1,72 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.attachment.ImageSize;
+import com.mysite.sbb.attachment.ImageSizeResolver;
+import com.mysite.sbb.attachment.ImageVariants;
+import com.vladsch.flexmark.ast.Image;
+import com.vladsch.flexmark.html.AttributeProvider;
+import com.vladsch.flexmark.html.renderer.AttributablePart;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.html.MutableAttributes;
+
+import java.util.Optional;
+
+/**
+ * 첨부 이미지(![](/attachments/...))를 크기에 맞는 파생 이미지로 바꿔서 렌더링.
+ * width/height(레이아웃 이동 방지), srcset/sizes, lazy 로딩을 붙인다.
+ * 파생 이미지가 아직 없으면 서버가 원본으로 대신 응답하므로 결과 HTML은 작업 진행 상태와 무관하다.
+ */
+class ImageAttributeProvider implements AttributeProvider {
+
+    private static final String PREFIX = "/attachments/";
+
+    private final ImageSizeResolver images;
+
+    ImageAttributeProvider(ImageSizeResolver images) {
+        this.images = images;
+    }
+
+    @Override
+    public void setAttributes(Node node, AttributablePart part, MutableAttributes attributes) {
+        if (!(node instanceof Image image)) {
+            return;
+        }
+        String url = image.getUrl().toString();
+        if (!url.startsWith(PREFIX) || url.indexOf('?') >= 0) {
+            return;
+        }
+        String name = url.substring(PREFIX.length());
+        if (!ImageVariants.isImage(name)) {
+            return;
+        }
+        Optional<ImageSize> size = images.sizeOf(name);
+        if (size.isEmpty()) {
+            return;
+        }
+        int width = size.get().width();
+        int height = size.get().height();
+        attributes.replaceValue("width", String.valueOf(width));
+        attributes.replaceValue("height", String.valueOf(height));
+        attributes.replaceValue("loading", "lazy");
+        attributes.replaceValue("decoding", "async");
+        attributes.addValue("class", "img-fluid");
+        if (!ImageVariants.hasVariants(name)) {
+            return; // gif: 축소본 없이 원본 (애니메이션 유지)
+        }
+
+        StringBuilder srcset = new StringBuilder();
+        for (int w : ImageVariants.WIDTHS) {
+            if (w < width) {
+                srcset.append(ImageVariants.url(name, w)).append(' ').append(w).append("w, ");
+            }
+        }
+        srcset.append(url).append(' ').append(width).append('w');
+
+        if (width > ImageVariants.DEFAULT_WIDTH) {
+            attributes.replaceValue("src", ImageVariants.url(name, ImageVariants.DEFAULT_WIDTH));
+        }
+        attributes.replaceValue("srcset", srcset.toString());
+        attributes.replaceValue("sizes", "(max-width: " + ImageVariants.DEFAULT_WIDTH + "px) 100vw, "
+                + ImageVariants.DEFAULT_WIDTH + "px");
+    }
+}
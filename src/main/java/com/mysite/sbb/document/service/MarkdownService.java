@@ -1,24 +1,238 @@
 package com.mysite.sbb.document.service;
 
+import com.mysite.sbb.attachment.ImageSize;
+import com.mysite.sbb.attachment.ImageSizeResolver;
+import com.mysite.sbb.attachment.ImageVariants;
+import com.mysite.sbb.cache.WeightedLruCache;
+import com.mysite.sbb.document.domain.DocumentSection;
+import com.vladsch.flexmark.html.AttributeProvider;
 import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.IndependentAttributeProviderFactory;
+import com.vladsch.flexmark.html.renderer.LinkResolverContext;
 import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.data.DataKey;
 import com.vladsch.flexmark.util.data.MutableDataSet;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * 마크다운 → HTML.
+ * flexmark Parser/HtmlRenderer는 생성 후 불변이라 여러 스레드가 같이 써도 된다 (렌더링마다 새 Document/노드 트리를 만듦).
+ * 섹션이 많은 문서는 전용 fork-join 풀에서 섹션 단위로 나눠 렌더링한다.
+ * 풀 스레드는 DB에 가지 않는다: 이미지 크기는 호출 스레드에서 한 번에 조회해서 메모리로 넘긴다.
+ */
 @Service
 public class MarkdownService {
+    /** flexmark 옵션/확장을 바꾸면 올릴 것 → 저장된 contentHtml이 백그라운드로 재렌더링됨 */
+    public static final int RENDERER_VERSION = 2; // 2: 첨부 이미지 srcset/크기 속성
+
+    /** 렌더링 한 번에 쓸 이미지 크기 조회 (파싱한 Document에 붙여서 속성 제공자에게 전달) */
+    private static final ImageSizeResolver NO_SIZES = name -> Optional.empty();
+    private static final DataKey<ImageSizeResolver> IMAGE_SIZES = new DataKey<>("SBB_IMAGE_SIZES", NO_SIZES);
+    /** 본문 안의 첨부 참조 (ImageAttributeProvider와 같은 이름 규칙) */
+    private static final Pattern ATTACHMENT_REF = Pattern.compile("/attachments/([^\\s)\"'?#<>]+)");
+
     private final Parser parser;
     private final HtmlRenderer renderer;
+    private final RenderedHtmlCache cache;
+    private final ImageSizeResolver images;
+    /** 섹션 병렬 렌더링용 (스레드 수 제한, 요청 스레드/공용 풀과 분리) */
+    private final ForkJoinPool pool;
+    /** 렌더링할 본문 합계가 이보다 작으면 요청 스레드에서 순서대로 (작은 페이지는 작업 분배 비용이 더 큼) */
+    private final int parallelMinChars;
 
-    public MarkdownService() {
+    public MarkdownService(RenderedHtmlCache cache, ImageSizeResolver images,
+            @Value("${sbb.markdown.parallel.threads:0}") int threads,
+            @Value("${sbb.markdown.parallel.min-chars:32000}") int parallelMinChars) {
         MutableDataSet options = new MutableDataSet();
         this.parser = Parser.builder(options).build();
-        this.renderer = HtmlRenderer.builder(options).build();
+        this.renderer = HtmlRenderer.builder(options)
+                .attributeProviderFactory(new IndependentAttributeProviderFactory() {
+                    @Override
+                    public AttributeProvider apply(LinkResolverContext context) {
+                        return new ImageAttributeProvider(IMAGE_SIZES.get(context.getDocument()));
+                    }
+                })
+                .build();
+        this.cache = cache;
+        this.images = images;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                p -> {
+                    ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    t.setName("markdown-render-" + t.getPoolIndex());
+                    return t;
+                }, null, false);
+        this.parallelMinChars = parallelMinChars;
     }
 
+    /** 캐시를 거쳐 MD → HTML (인기 문서는 파서를 타지 않음) */
     public String toHtml(String md) {
-        return renderer.render(parser.parse(Objects.requireNonNullElse(md, "")));
+        return cache.get(Objects.requireNonNullElse(md, ""), this::render);
+    }
+
+    /** 캐시 없이 직접 렌더링 (이미지 크기는 호출 스레드에서 조회) */
+    public String render(String md) {
+        return render(md, images);
+    }
+
+    private String render(String md, ImageSizeResolver sizes) {
+        Document document = parser.parse(Objects.requireNonNullElse(md, ""));
+        document.set(IMAGE_SIZES, sizes);
+        return renderer.render(document);
+    }
+
+    /** 섹션 HTML: 현재 렌더러 버전으로 저장된 HTML이 있으면 그대로, 아니면 렌더링 */
+    public String sectionHtml(DocumentSection section) {
+        if (section.getContentHtml() != null
+                && Objects.equals(section.getRendererVersion(), RENDERER_VERSION)) {
+            return section.getContentHtml();
+        }
+        return toHtml(section.getContentMd());
+    }
+
+    /**
+     * 캐시 없이 여러 본문을 렌더링 (결과 순서 = 입력 순서).
+     * 본문 합계가 parallelMinChars 이상이면 섹션마다 작업을 나눠 풀에서 병렬로 처리한다.
+     */
+    public List<String> renderAll(List<String> mds) {
+        long chars = 0;
+        for (String md : mds) {
+            chars += md == null ? 0 : md.length();
+        }
+        // 이미지 크기는 여기(호출 스레드, 호출자의 트랜잭션)에서 한 번에 조회
+        ImageSizeResolver sizes = prefetchSizes(mds);
+        if (mds.size() < 2 || chars < parallelMinChars) {
+            List<String> out = new ArrayList<>(mds.size());
+            for (String md : mds) {
+                out.add(render(md, sizes));
+            }
+            return out;
+        }
+        List<Callable<String>> tasks = new ArrayList<>(mds.size());
+        for (String md : mds) {
+            tasks.add(() -> render(md, sizes));
+        }
+        List<String> out = new ArrayList<>(mds.size());
+        try {
+            for (Future<String> f : pool.invokeAll(tasks)) {
+                out.add(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("markdown rendering interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        }
+        return out;
+    }
+
+    /** 본문들에 나오는 첨부 이미지의 크기를 IN 조회 한 번으로 읽어 메모리 조회기로 */
+    private ImageSizeResolver prefetchSizes(List<String> mds) {
+        Set<String> names = new HashSet<>();
+        for (String md : mds) {
+            if (md == null) {
+                continue;
+            }
+            Matcher m = ATTACHMENT_REF.matcher(md);
+            while (m.find()) {
+                if (ImageVariants.isImage(m.group(1))) {
+                    names.add(m.group(1));
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            return NO_SIZES;
+        }
+        Map<String, ImageSize> sizes = images.sizesOf(names);
+        return name -> Optional.ofNullable(sizes.get(name));
+    }
+
+    /** 캐시를 거쳐 여러 본문 변환: 캐시에 없는 것만 모아서 renderAll */
+    public List<String> toHtmlAll(List<String> mds) {
+        List<String> out = new ArrayList<>(mds.size());
+        List<Integer> missing = new ArrayList<>();
+        List<String> missingMd = new ArrayList<>();
+        for (String md : mds) {
+            String key = Objects.requireNonNullElse(md, "");
+            String html = cache.peek(key);
+            if (html == null) {
+                missing.add(out.size());
+                missingMd.add(key);
+            }
+            out.add(html);
+        }
+        if (!missing.isEmpty()) {
+            List<String> rendered = renderAll(missingMd);
+            for (int i = 0; i < missing.size(); i++) {
+                cache.put(missingMd.get(i), rendered.get(i));
+                out.set(missing.get(i), rendered.get(i));
+            }
+        }
+        return out;
+    }
+
+    /** 여러 섹션의 HTML: 저장된 HTML이 최신이면 그대로, 나머지는 한 번에 (필요하면 병렬로) 렌더링 */
+    public List<String> sectionHtmlAll(List<DocumentSection> sections) {
+        List<String> out = new ArrayList<>(sections.size());
+        List<Integer> missing = new ArrayList<>();
+        List<String> missingMd = new ArrayList<>();
+        for (DocumentSection s : sections) {
+            String html = null;
+            if (s.getContentHtml() != null && Objects.equals(s.getRendererVersion(), RENDERER_VERSION)) {
+                html = s.getContentHtml();
+            } else {
+                missing.add(out.size());
+                missingMd.add(s.getContentMd());
+            }
+            out.add(html);
+        }
+        if (!missing.isEmpty()) {
+            List<String> rendered = toHtmlAll(missingMd);
+            for (int i = 0; i < missing.size(); i++) {
+                out.set(missing.get(i), rendered.get(i));
+            }
+        }
+        return out;
+    }
+
+    /** 섹션에 렌더링 결과와 렌더러 버전을 채움 (쓰기 트랜잭션 안에서 호출) */
+    public void prerender(DocumentSection section) {
+        section.setContentHtml(toHtml(section.getContentMd()));
+        section.setRendererVersion(RENDERER_VERSION);
+    }
+
+    /** prerender의 여러 섹션 버전 (큰 문서 저장 시 병렬 렌더링) */
+    public void prerenderAll(List<DocumentSection> sections) {
+        List<String> html = toHtmlAll(sections.stream().map(DocumentSection::getContentMd).toList());
+        for (int i = 0; i < sections.size(); i++) {
+            sections.get(i).setContentHtml(html.get(i));
+            sections.get(i).setRendererVersion(RENDERER_VERSION);
+        }
+    }
+
+    public WeightedLruCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
     }
 }
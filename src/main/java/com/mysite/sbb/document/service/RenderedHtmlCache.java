@@ -0,0 +1,56 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.cache.WeightedLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * 마크다운 본문 해시(SHA-256) → 렌더링된 HTML 캐시.
+ * 같은 본문이면 문서/섹션과 무관하게 재사용되고, 본문이 바뀌면 키가 바뀌므로 자연히 무효화된다.
+ */
+@Component
+public class RenderedHtmlCache {
+
+    private final WeightedLruCache<String, String> cache;
+
+    public RenderedHtmlCache(@Value("${sbb.markdown.cache.max-chars:8000000}") long maxChars) {
+        // 가중치 = HTML 문자 수 + 키(64자)
+        this.cache = new WeightedLruCache<>(maxChars, html -> html.length() + 64L);
+    }
+
+    public String get(String md, Function<String, String> renderer) {
+        return cache.get(key(md), k -> renderer.apply(md));
+    }
+
+    /** 있으면 반환, 없으면 null (렌더링하지 않음) */
+    public String peek(String md) {
+        return cache.get(key(md));
+    }
+
+    public void put(String md, String html) {
+        cache.put(key(md), html);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public WeightedLruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    static String key(String md) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(md.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
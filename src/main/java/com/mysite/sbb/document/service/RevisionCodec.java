@@ -0,0 +1,132 @@
+package com.mysite.sbb.document.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.dto.DocumentSnapshot.Section;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 리비전 저장 포맷.
+ * <ul>
+ * <li>키프레임: 전체 스냅샷 JSON {"title","summary","sections":[{"id","heading","contentMd"}]}</li>
+ * <li>델타: 직전 버전 대비 변경분. {"title"?, "summary"?, "sections":[...]}
+ * 섹션 항목이 정수 i면 직전 버전 i번째 섹션 그대로, {"r":i,"id":n}이면 내용은 같고 id만 바뀜,
+ * 객체면 새/수정된 섹션 전체. 제목/요약은 바뀐 경우에만 키가 있다.</li>
+ * </ul>
+ * 델타 크기는 문서 크기가 아니라 바뀐 섹션 크기에 비례한다.
+ */
+public class RevisionCodec {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public String toJson(DocumentSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("snapshot serialization failed", e);
+        }
+    }
+
+    public DocumentSnapshot fromJson(String json) {
+        try {
+            DocumentSnapshot s = objectMapper.readValue(json, DocumentSnapshot.class);
+            return s.sections() == null ? new DocumentSnapshot(s.title(), s.summary(), List.of()) : s;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("snapshot deserialization failed", e);
+        }
+    }
+
+    public String diff(DocumentSnapshot prev, DocumentSnapshot next) {
+        ObjectNode root = objectMapper.createObjectNode();
+        if (!Objects.equals(prev.title(), next.title())) {
+            root.put("title", next.title());
+        }
+        if (!Objects.equals(prev.summary(), next.summary())) {
+            root.put("summary", next.summary());
+        }
+
+        // 내용(제목+본문)이 같은 직전 섹션 위치들. 같은 내용이 여러 번 나오면 앞에서부터 소비
+        Map<List<String>, Deque<Integer>> byContent = new HashMap<>();
+        List<Section> prevSections = prev.sections();
+        for (int i = 0; i < prevSections.size(); i++) {
+            byContent.computeIfAbsent(contentKey(prevSections.get(i)), k -> new ArrayDeque<>()).add(i);
+        }
+
+        ArrayNode arr = root.putArray("sections");
+        for (Section s : next.sections()) {
+            Deque<Integer> candidates = byContent.get(contentKey(s));
+            Integer ref = candidates == null ? null : candidates.poll();
+            if (ref == null) {
+                ObjectNode sec = arr.addObject();
+                if (s.id() != null) {
+                    sec.put("id", s.id());
+                }
+                sec.put("heading", s.heading());
+                sec.put("contentMd", s.contentMd());
+            } else if (Objects.equals(prevSections.get(ref).id(), s.id())) {
+                arr.add(ref);
+            } else {
+                ObjectNode moved = arr.addObject();
+                moved.put("r", ref);
+                if (s.id() != null) {
+                    moved.put("id", s.id());
+                }
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("delta serialization failed", e);
+        }
+    }
+
+    public DocumentSnapshot apply(DocumentSnapshot prev, String delta) {
+        try {
+            JsonNode root = objectMapper.readTree(delta);
+            String title = root.has("title") ? textOrNull(root.get("title")) : prev.title();
+            String summary = root.has("summary") ? textOrNull(root.get("summary")) : prev.summary();
+
+            List<Section> sections = new ArrayList<>();
+            for (JsonNode n : root.path("sections")) {
+                if (n.isInt()) {
+                    sections.add(prev.sections().get(n.intValue()));
+                } else if (n.has("r")) {
+                    Section base = prev.sections().get(n.get("r").intValue());
+                    sections.add(new Section(idOrNull(n), base.heading(), base.contentMd()));
+                } else {
+                    sections.add(new Section(idOrNull(n), textOrNull(n.get("heading")), textOrNull(n.get("contentMd"))));
+                }
+            }
+            return new DocumentSnapshot(title, summary, sections);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("delta deserialization failed", e);
+        }
+    }
+
+    private static List<String> contentKey(Section s) {
+        return Arrays.asList(s.heading(), s.contentMd());
+    }
+
+    private static String textOrNull(JsonNode n) {
+        return n == null || n.isNull() ? null : n.asText();
+    }
+
+    private static Long idOrNull(JsonNode n) {
+        JsonNode id = n.get("id");
+        return id == null || id.isNull() ? null : id.longValue();
+    }
+}
@@ -0,0 +1,77 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.document.domain.DocumentRevision;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.repository.DocumentRevisionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 기존(전체 스냅샷만 있던) 리비전을 키프레임 + 델타 포맷으로 변환하는 1회성 마이그레이션.
+ * 문서 단위 트랜잭션으로 처리하므로 중간에 중단돼도 다음 기동 때 남은 문서부터 이어서 진행된다.
+ */
+@Slf4j
+@Component
+public class RevisionCompactionJob {
+
+    private final DocumentRevisionRepository revisionRepo;
+    private final RevisionService revisionService;
+    private final TransactionTemplate tx;
+
+    public RevisionCompactionJob(DocumentRevisionRepository revisionRepo,
+            RevisionService revisionService,
+            PlatformTransactionManager txManager) {
+        this.revisionRepo = revisionRepo;
+        this.revisionService = revisionService;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        List<Long> docIds = revisionRepo.findDocumentIdsWithFullSnapshots(revisionService.getKeyframeInterval());
+        if (docIds.isEmpty()) {
+            return;
+        }
+        int converted = 0;
+        for (Long docId : docIds) {
+            Integer n = tx.execute(status -> compact(docId));
+            converted += n == null ? 0 : n;
+        }
+        log.info("revision compaction: {} revisions of {} documents converted to deltas", converted, docIds.size());
+    }
+
+    private int compact(Long docId) {
+        RevisionCodec codec = revisionService.codec();
+        int converted = 0;
+        DocumentSnapshot prev = null;
+        Integer prevVersion = null;
+        for (DocumentRevision r : revisionRepo.findByDocumentIdOrderByVersionAsc(docId)) {
+            DocumentSnapshot current;
+            if (r.isKeyframe()) {
+                current = codec.fromJson(r.getSnapshotJson());
+            } else if (prev != null) {
+                current = codec.apply(prev, r.getDeltaJson());
+            } else {
+                log.warn("revision chain of document {} has no keyframe before v{}", docId, r.getVersion());
+                break;
+            }
+
+            boolean contiguous = prevVersion != null && prevVersion == r.getVersion() - 1;
+            if (r.isKeyframe() && contiguous && !revisionService.isKeyframe(r.getVersion())) {
+                r.setDeltaJson(codec.diff(prev, current));
+                r.setSnapshotJson(null);
+                r.setChangeSize(r.getDeltaJson().length());
+                converted++;
+            }
+            prev = current;
+            prevVersion = r.getVersion();
+        }
+        return converted;
+    }
+}
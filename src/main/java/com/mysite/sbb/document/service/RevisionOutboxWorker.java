@@ -0,0 +1,141 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentOutbox;
+import com.mysite.sbb.document.repository.DocumentOutboxRepository;
+import com.mysite.sbb.document.repository.DocumentRepository;
+import com.mysite.sbb.document.repository.DocumentRevisionRepository;
+import com.mysite.sbb.document.search.DocumentSearchService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 아웃박스(DocumentOutbox) → 리비전 행, 검색 색인, 페이지 캐시 정리.
+ * 문서 단위 트랜잭션으로 처리하고 처리한 항목은 같은 트랜잭션에서 지운다.
+ * 실패하면 항목이 남아 백오프 후 다시 처리되며(최소 한 번), 이미 있는 버전은 건너뛰므로
+ * 여러 번 처리돼도 결과는 같다 ((document, version) 유니크 제약이 동시 처리도 막음).
+ * 계속 실패하는 항목(적용되지 않는 델타 등)은 maxAttempts번 뒤 멈추고 ERROR로 남긴다.
+ */
+@Slf4j
+@Component
+public class RevisionOutboxWorker {
+
+    private static final Duration RETRY_BASE = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX = Duration.ofMinutes(10);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DocumentOutboxRepository outboxRepo;
+    private final DocumentRevisionRepository revisionRepo;
+    private final DocumentRepository docRepo;
+    private final RevisionService revisionService;
+    private final DocumentSearchService searchService;
+    private final DocumentPageCache pageCache;
+    private final TransactionTemplate tx;
+    private final int batchDocuments;
+    private final int maxAttempts;
+
+    public RevisionOutboxWorker(DocumentOutboxRepository outboxRepo,
+            DocumentRevisionRepository revisionRepo,
+            DocumentRepository docRepo,
+            RevisionService revisionService,
+            DocumentSearchService searchService,
+            DocumentPageCache pageCache,
+            PlatformTransactionManager txManager,
+            @Value("${sbb.revision.outbox.batch-documents:100}") int batchDocuments,
+            @Value("${sbb.revision.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxRepo = outboxRepo;
+        this.revisionRepo = revisionRepo;
+        this.docRepo = docRepo;
+        this.revisionService = revisionService;
+        this.searchService = searchService;
+        this.pageCache = pageCache;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchDocuments = batchDocuments;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /** 대기 중인 변경을 오래된 문서부터 처리. 한 주기에 최대 batchDocuments개 문서 */
+    @Scheduled(fixedDelayString = "${sbb.revision.outbox.poll-ms:200}")
+    @PreDestroy
+    public void drain() {
+        List<Long> docIds = outboxRepo.findPendingDocumentIds(maxAttempts, LocalDateTime.now(),
+                PageRequest.ofSize(batchDocuments));
+        for (Long docId : docIds) {
+            try {
+                tx.executeWithoutResult(status -> process(docId));
+            } catch (RuntimeException e) {
+                try {
+                    tx.executeWithoutResult(status -> recordFailure(docId, e));
+                } catch (RuntimeException recordError) {
+                    log.warn("outbox failure of document {} not recorded: {}", docId, recordError.getMessage());
+                }
+            }
+        }
+    }
+
+    /** 실패한 문서의 대기 항목에 횟수/사유/다음 시도 시각 기록 */
+    private void recordFailure(Long docId, RuntimeException e) {
+        List<DocumentOutbox> pending = outboxRepo.findByDocumentIdOrderByVersionAsc(docId);
+        if (pending.isEmpty()) {
+            return;
+        }
+        String error = String.valueOf(e);
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (DocumentOutbox o : pending) {
+            o.setAttempts(o.getAttempts() + 1);
+            o.setLastError(error);
+            o.setNextAttemptAt(now.plus(backoff(o.getAttempts())));
+        }
+        DocumentOutbox first = pending.get(0);
+        if (first.getAttempts() >= maxAttempts) {
+            log.error("outbox for document {} stopped at v{} after {} attempts, needs manual repair: {}",
+                    docId, first.getVersion(), first.getAttempts(), error);
+        } else {
+            log.warn("outbox for document {} not processed (attempt {}), retry at {}: {}",
+                    docId, first.getAttempts(), first.getNextAttemptAt(), error);
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = RETRY_BASE.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(RETRY_MAX) > 0 ? RETRY_MAX : delay;
+    }
+
+    private void process(Long docId) {
+        List<DocumentOutbox> pending = outboxRepo.findByDocumentIdOrderByVersionAsc(docId);
+        if (pending.isEmpty()) {
+            return; // 다른 인스턴스가 먼저 처리
+        }
+        Document doc = docRepo.findById(docId).orElse(null);
+        if (doc == null) {
+            outboxRepo.deleteAll(pending);
+            return;
+        }
+        Set<Integer> done = new HashSet<>(revisionRepo.findVersions(docId,
+                pending.get(0).getVersion(), pending.get(pending.size() - 1).getVersion()));
+        for (DocumentOutbox o : pending) {
+            if (!done.contains(o.getVersion())) {
+                revisionService.write(doc, o);
+            }
+            outboxRepo.delete(o);
+        }
+        // 버전 여러 개가 쌓였어도 색인/캐시 정리는 최신 상태로 한 번
+        searchService.indexAfterCommit(doc, doc.getSections());
+        pageCache.purgeAfterCommit(doc.getSlug());
+    }
+}
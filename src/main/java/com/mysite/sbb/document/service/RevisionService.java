@@ -0,0 +1,156 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentOutbox;
+import com.mysite.sbb.document.domain.DocumentRevision;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.dto.RevisionSummary;
+import com.mysite.sbb.document.repository.DocumentOutboxRepository;
+import com.mysite.sbb.document.repository.DocumentRevisionRepository;
+import com.mysite.sbb.user.SiteUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 리비전 저장/복원.
+ * keyframeInterval 버전마다 전체 스냅샷(키프레임)을 두고, 그 사이는 직전 버전 대비 델타만 저장한다.
+ * 임의 버전 복원 비용은 최대 keyframeInterval개의 델타 적용.
+ * 문서 수정 트랜잭션은 변경분을 아웃박스에만 기록하고(enqueue), 리비전 행은 RevisionOutboxWorker가 나중에 만든다.
+ * 복원은 아웃박스에 남아 있는 변경까지 포함한다.
+ */
+@Service
+public class RevisionService {
+
+    private final DocumentRevisionRepository revisionRepo;
+    private final DocumentOutboxRepository outboxRepo;
+    private final RevisionCodec codec = new RevisionCodec();
+    private final int keyframeInterval;
+
+    public RevisionService(DocumentRevisionRepository revisionRepo,
+            DocumentOutboxRepository outboxRepo,
+            @Value("${sbb.revision.keyframe-interval:20}") int keyframeInterval) {
+        this.revisionRepo = revisionRepo;
+        this.outboxRepo = outboxRepo;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    public boolean isKeyframe(int version) {
+        return version <= 1 || (version - 1) % keyframeInterval == 0;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * 새 버전을 아웃박스에 기록 (호출한 트랜잭션 안에서, 변경분만).
+     * previous: 수정 직전 상태 (null이면 생성 시점 → 전체 스냅샷), next: 수정 후 상태
+     */
+    @Transactional
+    public DocumentOutbox enqueue(Document doc, SiteUser editor, DocumentSnapshot previous,
+            DocumentSnapshot next, int version) {
+        DocumentOutbox o = new DocumentOutbox();
+        o.setDocument(doc);
+        o.setVersion(version);
+        o.setSnapshot(previous == null);
+        o.setPayloadJson(previous == null ? codec.toJson(next) : codec.diff(previous, next));
+        o.setEditor(editor);
+        o.setCreatedAt(LocalDateTime.now());
+        return outboxRepo.save(o);
+    }
+
+    /**
+     * 아웃박스 항목을 리비전 행으로 (워커가 문서 단위 트랜잭션 안에서 버전 순으로 호출).
+     * 키프레임 위치인데 변경분만 있으면 직전 버전을 복원해서 전체 스냅샷으로 저장한다.
+     */
+    @Transactional
+    public DocumentRevision write(Document doc, DocumentOutbox o) {
+        DocumentRevision r = new DocumentRevision();
+        r.setDocument(doc);
+        r.setVersion(o.getVersion());
+        if (o.isSnapshot()) {
+            r.setSnapshotJson(o.getPayloadJson());
+        } else if (isKeyframe(o.getVersion())) {
+            DocumentSnapshot previous = materialize(doc, o.getVersion() - 1);
+            r.setSnapshotJson(codec.toJson(codec.apply(previous, o.getPayloadJson())));
+        } else {
+            r.setDeltaJson(o.getPayloadJson());
+        }
+        // 키프레임으로 저장해도 크기는 이 버전의 변경분 (생성 시점만 전체 스냅샷)
+        r.setChangeSize(o.getPayloadJson().length());
+        r.setEditor(o.getEditor());
+        r.setCreatedAt(o.getCreatedAt());
+        return revisionRepo.save(r);
+    }
+
+    /** 히스토리 목록 (스냅샷 컬럼 없이 편집자까지 한 번에) */
+    @Transactional(readOnly = true)
+    public Page<RevisionSummary> history(Document doc, int page, int size) {
+        return revisionRepo.findSummaries(doc, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "version")));
+    }
+
+    /**
+     * 임의 버전의 문서 상태 복원 (가장 가까운 이전 키프레임 + 델타 순차 적용).
+     * 아직 아웃박스에 있는 변경도 포함한다. 워커가 옮기는 중이라도 빠지지 않도록 아웃박스를 먼저 읽고,
+     * 같은 버전이 양쪽에 보이면 한 번만 적용한다.
+     */
+    @Transactional(readOnly = true)
+    public DocumentSnapshot materialize(Document doc, int version) {
+        TreeMap<Integer, Step> steps = new TreeMap<>();
+        for (DocumentOutbox o : outboxRepo.findByDocumentIdAndVersionLessThanEqualOrderByVersionAsc(doc.getId(), version)) {
+            steps.put(o.getVersion(), new Step(o.isSnapshot(), o.getPayloadJson()));
+        }
+        Integer from = null;
+        for (Map.Entry<Integer, Step> e : steps.descendingMap().entrySet()) {
+            if (e.getValue().snapshot()) {
+                from = e.getKey();
+                break;
+            }
+        }
+        if (from == null) {
+            DocumentRevision keyframe = revisionRepo
+                    .findFirstByDocumentAndVersionLessThanEqualAndSnapshotJsonIsNotNullOrderByVersionDesc(doc, version)
+                    .orElseThrow(() -> new IllegalArgumentException("revision not found"));
+            from = keyframe.getVersion();
+            steps.put(from, new Step(true, keyframe.getSnapshotJson()));
+        }
+        if (from < version) {
+            for (DocumentRevision r : revisionRepo.findByDocumentAndVersionBetweenOrderByVersionAsc(doc, from + 1, version)) {
+                steps.putIfAbsent(r.getVersion(), r.isKeyframe()
+                        ? new Step(true, r.getSnapshotJson())
+                        : new Step(false, r.getDeltaJson()));
+            }
+        }
+
+        DocumentSnapshot snapshot = null;
+        int expected = from;
+        for (Map.Entry<Integer, Step> e : steps.tailMap(from, true).entrySet()) {
+            if (e.getKey() != expected) {
+                throw new IllegalStateException("revision chain broken at v" + expected);
+            }
+            Step step = e.getValue();
+            snapshot = step.snapshot() ? codec.fromJson(step.json()) : codec.apply(snapshot, step.json());
+            expected++;
+        }
+        if (expected != version + 1) {
+            throw new IllegalArgumentException("revision not found");
+        }
+        return snapshot;
+    }
+
+    /** 복원 한 단계: 전체 스냅샷 또는 델타 */
+    private record Step(boolean snapshot, String json) {
+    }
+
+    RevisionCodec codec() {
+        return codec;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.document.domain.DocumentSection;
+import com.mysite.sbb.document.repository.DocumentSectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * contentHtml이 비어 있거나 예전 렌더러 버전으로 만들어진 섹션을 조금씩 다시 렌더링한다.
+ * (기존 데이터 백필 + flexmark 설정 변경 시 재렌더링)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SectionHtmlBackfillJob {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final DocumentSectionRepository sectionRepo;
+    private final MarkdownService markdownService;
+
+    @Scheduled(initialDelayString = "${sbb.markdown.backfill.initial-delay-ms:10000}",
+            fixedDelayString = "${sbb.markdown.backfill.delay-ms:5000}")
+    @Transactional
+    public void run() {
+        Slice<DocumentSection> batch = sectionRepo.findByRendererVersionIsNullOrRendererVersionNot(
+                MarkdownService.RENDERER_VERSION, PageRequest.of(0, BATCH_SIZE));
+        for (DocumentSection s : batch) {
+            // 캐시를 오염시키지 않도록 직접 렌더링
+            s.setContentHtml(markdownService.render(s.getContentMd()));
+            s.setRendererVersion(MarkdownService.RENDERER_VERSION);
+        }
+        if (batch.hasContent()) {
+            log.info("section html backfill: {} sections (renderer v{})",
+                    batch.getNumberOfElements(), MarkdownService.RENDERER_VERSION);
+        }
+    }
+}
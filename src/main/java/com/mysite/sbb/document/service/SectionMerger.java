@@ -0,0 +1,160 @@
+package com.mysite.sbb.document.service;
+
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.dto.DocumentSnapshot.Section;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 섹션 단위 3-way 병합 (base: 편집을 시작한 버전, theirs: 지금 저장된 문서, mine: 제출된 수정).
+ * 섹션은 id로 맞추고, 한쪽만 바꾼 섹션은 바꾼 쪽을, 양쪽이 같게 바꾼 섹션은 그대로 받는다.
+ * 양쪽이 서로 다르게 바꾼(삭제 포함) 섹션/제목/요약만 충돌로 남긴다.
+ * 순서도 3-way: 상대만 순서를 바꿨으면 상대 순서, 양쪽이 다르게 바꿨으면 충돌(mine 순서로 채움), 그 외는 mine 순서.
+ * theirs에서 새로 생긴 섹션은 theirs에서 바로 앞에 있던 섹션 뒤에 끼운다.
+ */
+final class SectionMerger {
+
+    record Result(DocumentSnapshot merged, List<String> conflicts) {
+    }
+
+    private SectionMerger() {
+    }
+
+    /** 충돌한 곳은 mine으로 채운 병합 결과 + 충돌 목록 */
+    static Result merge(DocumentSnapshot base, DocumentSnapshot theirs, DocumentSnapshot mine) {
+        List<String> conflicts = new ArrayList<>();
+        String title = mergeField(base.title(), theirs.title(), mine.title(), "제목", conflicts);
+        String summary = mergeField(base.summary(), theirs.summary(), mine.summary(), "요약", conflicts);
+
+        Map<Long, Section> baseById = byId(base);
+        Map<Long, Section> theirsById = byId(theirs);
+        Set<Long> mineIds = new HashSet<>();
+        List<Section> merged = new ArrayList<>();
+
+        for (Section m : mine.sections()) {
+            Section b = m.id() == null ? null : baseById.get(m.id());
+            if (b == null) {
+                // 내가 새로 추가한 섹션
+                merged.add(new Section(null, m.heading(), m.contentMd()));
+                continue;
+            }
+            mineIds.add(m.id());
+            Section t = theirsById.get(m.id());
+            if (same(b, t) || same(t, m)) {
+                merged.add(m);
+            } else if (same(b, m)) {
+                if (t != null) {
+                    merged.add(t);
+                }
+                // t == null: 상대가 삭제, 나는 안 건드림 → 삭제 유지
+            } else {
+                conflicts.add(t == null
+                        ? "섹션 '" + m.heading() + "' (다른 사용자가 삭제)"
+                        : "섹션 '" + m.heading() + "'");
+                merged.add(m);
+            }
+        }
+
+        // 내가 삭제한 섹션: 그사이 상대가 고쳤으면 충돌
+        for (Section b : base.sections()) {
+            if (!mineIds.contains(b.id())) {
+                Section t = theirsById.get(b.id());
+                if (t != null && !same(b, t)) {
+                    conflicts.add("섹션 '" + t.heading() + "' (내가 삭제, 다른 사용자가 수정)");
+                }
+            }
+        }
+
+        // 세 쪽에 모두 있는 섹션끼리의 순서
+        Set<Long> common = new HashSet<>(mineIds);
+        common.retainAll(theirsById.keySet());
+        List<Long> baseOrder = order(base, common);
+        List<Long> theirsOrder = order(theirs, common);
+        List<Long> mineOrder = order(mine, common);
+        if (!theirsOrder.equals(baseOrder) && !theirsOrder.equals(mineOrder)) {
+            if (mineOrder.equals(baseOrder)) {
+                // 상대만 순서를 바꿈: 그 섹션들이 차지한 자리에 상대 순서로 다시 배치 (내가 추가한 섹션 자리는 그대로)
+                Map<Long, Section> mergedById = new HashMap<>();
+                for (Section s : merged) {
+                    if (s.id() != null) {
+                        mergedById.put(s.id(), s);
+                    }
+                }
+                Iterator<Long> next = theirsOrder.iterator();
+                for (int i = 0; i < merged.size(); i++) {
+                    Long id = merged.get(i).id();
+                    if (id != null && common.contains(id)) {
+                        merged.set(i, mergedById.get(next.next()));
+                    }
+                }
+            } else {
+                conflicts.add("섹션 순서");
+            }
+        }
+
+        // 상대가 새로 추가한 섹션
+        Long anchor = null;
+        for (Section t : theirs.sections()) {
+            if (!baseById.containsKey(t.id())) {
+                int at = anchor == null ? 0 : indexOf(merged, anchor) + 1;
+                merged.add(at, t);
+                anchor = t.id();
+            } else if (indexOf(merged, t.id()) >= 0) {
+                anchor = t.id();
+            }
+        }
+
+        return new Result(new DocumentSnapshot(title, summary, merged), conflicts);
+    }
+
+    /** base의 섹션에 id가 모두 있어야 병합 가능 (id 저장 이전의 오래된 리비전은 불가) */
+    static boolean mergeable(DocumentSnapshot base) {
+        return base.sections().stream().allMatch(s -> s.id() != null);
+    }
+
+    private static String mergeField(String base, String theirs, String mine, String label, List<String> conflicts) {
+        if (Objects.equals(base, theirs) || Objects.equals(theirs, mine)) {
+            return mine;
+        }
+        if (Objects.equals(base, mine)) {
+            return theirs;
+        }
+        conflicts.add(label);
+        return mine;
+    }
+
+    private static boolean same(Section a, Section b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.heading(), b.heading()) && Objects.equals(a.contentMd(), b.contentMd());
+    }
+
+    private static Map<Long, Section> byId(DocumentSnapshot snapshot) {
+        Map<Long, Section> map = new HashMap<>();
+        for (Section s : snapshot.sections()) {
+            map.put(s.id(), s);
+        }
+        return map;
+    }
+
+    private static List<Long> order(DocumentSnapshot snapshot, Set<Long> ids) {
+        return snapshot.sections().stream().map(Section::id).filter(ids::contains).toList();
+    }
+
+    private static int indexOf(List<Section> sections, Long id) {
+        for (int i = 0; i < sections.size(); i++) {
+            if (Objects.equals(sections.get(i).id(), id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -2,11 +2,100 @@ package com.mysite.sbb.document.util;
 
 import java.text.Normalizer;
 
+/**
+ * 제목 → URL slug.
+ * 문자를 한 번만 훑으면서 글자/숫자는 소문자로 남기고, 나머지 연속 구간은 '-' 하나로 바꾼다.
+ * 한글 음절은 그대로 유지한다 (NFKD로 풀면 자모로 쪼개지므로 정규화하지 않음).
+ * 악센트가 붙은 라틴 문자(é, ü …)만 미리 계산한 표로 ASCII로 바꾼다.
+ */
 public class SlugGenerator {
+
+    /** documents.slug 컬럼 길이 */
+    public static final int MAX_LENGTH = 160;
+
+    private static final int FOLD_FROM = 0x00C0;
+    private static final int FOLD_TO = 0x0180;
+    /** U+00C0..U+017F → NFKD 후 결합 문자를 뺀 ASCII (없으면 null) */
+    private static final String[] FOLD = new String[FOLD_TO - FOLD_FROM];
+
+    static {
+        for (int c = FOLD_FROM; c < FOLD_TO; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFKD);
+            StringBuilder ascii = new StringBuilder(2);
+            for (int i = 0; i < decomposed.length(); i++) {
+                char ch = decomposed.charAt(i);
+                if (ch < 0x80 && Character.isLetterOrDigit(ch)) {
+                    ascii.append(Character.toLowerCase(ch));
+                }
+            }
+            FOLD[c - FOLD_FROM] = ascii.isEmpty() ? null : ascii.toString();
+        }
+    }
+
+    private SlugGenerator() {
+    }
+
     public static String toSlug(String input) {
-        String s = Normalizer.normalize(input, Normalizer.Form.NFKD)
-                .replaceAll("[^\\p{Alnum}]+", "-")
-                .replaceAll("(^-|-$)", "");
-        return s.toLowerCase();
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        // 출력은 입력의 2배를 넘지 않음 (접기 결과 최대 2자, '-'는 구분 구간 하나당 1자)
+        char[] out = new char[Math.min(MAX_LENGTH, input.length() * 2)];
+        int len = 0;
+        boolean separator = false;
+        for (int i = 0; i < input.length(); ) {
+            int cp = input.codePointAt(i);
+            i += Character.charCount(cp);
+
+            String folded = null;
+            int single;
+            if (cp < 0x80) {
+                single = (cp >= 'a' && cp <= 'z') || (cp >= '0' && cp <= '9') ? cp
+                        : (cp >= 'A' && cp <= 'Z') ? cp + ('a' - 'A') : -1;
+            } else if (cp >= FOLD_FROM && cp < FOLD_TO && FOLD[cp - FOLD_FROM] != null) {
+                folded = FOLD[cp - FOLD_FROM];
+                single = -1;
+            } else if (Character.isLetterOrDigit(cp)) {
+                single = Character.toLowerCase(cp);
+            } else {
+                single = -1;
+            }
+
+            int need = folded != null ? folded.length() : single >= 0 ? Character.charCount(single) : 0;
+            if (need == 0) {
+                separator = len > 0;
+                continue;
+            }
+            int dash = separator ? 1 : 0;
+            if (len + dash + need > out.length) {
+                break; // 길이 제한: 글자 중간에서 자르지 않고 여기서 끝냄
+            }
+            if (dash == 1) {
+                out[len++] = '-';
+                separator = false;
+            }
+            if (folded != null) {
+                folded.getChars(0, need, out, len);
+            } else {
+                Character.toChars(single, out, len);
+            }
+            len += need;
+        }
+        return new String(out, 0, len);
+    }
+
+    /** 뒤에 접미사(-2 등)를 붙일 수 있도록 길이를 줄임 ('-'로 끝나지 않게) */
+    public static String truncate(String slug, int maxLength) {
+        if (slug.length() <= maxLength) {
+            return slug;
+        }
+        int end = maxLength;
+        if (Character.isLowSurrogate(slug.charAt(end))) {
+            end--;
+        }
+        while (end > 0 && slug.charAt(end - 1) == '-') {
+            end--;
+        }
+        return slug.substring(0, end);
     }
 }
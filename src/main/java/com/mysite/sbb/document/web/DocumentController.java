@@ -1,41 +1,82 @@
 package com.mysite.sbb.document.web;
 
+import com.mysite.sbb.DataNotFoundException;
 import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentListing;
+import com.mysite.sbb.document.domain.DocumentSection;
 import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.search.DocumentSearchService;
 import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.document.service.EditConflictException;
 import com.mysite.sbb.document.service.MarkdownService;
-import com.mysite.sbb.document.repository.DocumentRevisionRepository;
-import com.mysite.sbb.document.repository.DocumentRepository;
+import com.mysite.sbb.document.service.RevisionService;
+import com.mysite.sbb.paging.CursorPage;
 import com.mysite.sbb.user.SiteUser;
-import com.mysite.sbb.user.UserService;
+import com.mysite.sbb.user.CurrentUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriUtils;
 
-import java.security.Principal;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 
 @Controller
 @RequestMapping("/docs")
 @RequiredArgsConstructor
 public class DocumentController {
 
+    /** 동시 커밋으로 낙관적 잠금에 걸렸을 때 병합을 다시 시도하는 횟수 */
+    private static final int MAX_EDIT_ATTEMPTS = 3;
+
     private final DocumentService documentService;
-    private final DocumentRepository docRepo;
-    private final UserService userService;
     private final MarkdownService markdownService;
-    private final DocumentRevisionRepository revisionRepo;
+    private final RevisionService revisionService;
+    private final DocumentSearchService searchService;
+    private final DocumentStreamRenderer streamRenderer;
+
+    /**
+     * full: 모든 섹션을 한 번에, lazy: 목차 + 앞쪽 섹션만 렌더링하고 나머지는 조각으로,
+     * stream: 머리부터 보내고 섹션을 변환되는 대로 흘려 보냄
+     */
+    @Value("${sbb.docs.detail-mode:full}")
+    private String detailMode;
+
+    /** lazy 모드에서 처음 응답에 포함할 섹션 수 */
+    @Value("${sbb.docs.initial-sections:20}")
+    private int initialSections;
 
     @GetMapping
     public String list(@RequestParam(defaultValue = "") String q,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             Model model) {
-        PageRequest pr = PageRequest.of(page, 20, Sort.by(Sort.Direction.DESC, "updatedAt"));
-        Page<Document> docs = q.isBlank() ? docRepo.findAll(pr) : docRepo.findByTitleContainingIgnoreCase(q, pr);
-        model.addAttribute("docs", docs);
+        if (q.isBlank()) {
+            // 전체 목록은 읽기 모델 + 키셋 페이지네이션 (조인/지연 로딩/COUNT 없음)
+            CursorPage<DocumentListing> docs = documentService.listLatest(cursor, 20);
+            model.addAttribute("docs", docs.content());
+            model.addAttribute("nextCursor", docs.nextCursor());
+        } else {
+            PageRequest pr = PageRequest.of(page, 20, Sort.by(Sort.Direction.DESC, "updatedAt"));
+            Page<Document> docs = searchService.search(q, pr);
+            model.addAttribute("docs", docs.getContent());
+            model.addAttribute("paging", docs);
+        }
         model.addAttribute("q", q);
         return "docs/list";
     }
@@ -49,28 +90,82 @@ public class DocumentController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping
-    public String create(@Valid DocumentCreateForm form, Principal principal) {
-        SiteUser me = userService.getUser(principal.getName());
+    public String create(@Valid DocumentCreateForm form, @CurrentUser SiteUser me) {
         DocumentCreateDto dto = form.toDto();
         var saved = documentService.create(dto, me);
-        return "redirect:/docs/" + saved.getSlug();
+        return "redirect:/docs/" + UriUtils.encodePathSegment(saved.getSlug(), StandardCharsets.UTF_8); // 한글 slug
     }
 
-    /** 상세에서 MD → HTML 변환한 섹션을 내려주기 */
-    public record SectionView(String heading, String html) {
+    /** 상세에서 MD → HTML 변환한 섹션을 내려주기 (id는 앵커/조각 요청용) */
+    public record SectionView(Long id, String heading, String html) {
     }
 
     @GetMapping("/{slug}")
-    public String detail(@PathVariable String slug, Model model) {
+    public String detail(@PathVariable String slug, WebRequest request,
+            HttpServletRequest servletRequest, HttpServletResponse response, Model model) throws IOException {
+        // 재검증 요청은 slug 인덱스 조회 한 번으로 304 응답 (섹션 로딩/렌더링/템플릿 생략)
+        var stamp = documentService.getStamp(slug);
+        if (stamp.isPresent()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache"); // 저장은 하되 매번 재검증
+            if (request.checkNotModified(stamp.get().etag(MarkdownService.RENDERER_VERSION),
+                    stamp.get().lastModified())) {
+                return null;
+            }
+        }
         var doc = documentService.getBySlug(slug);
-        var views = doc.getSections().stream()
-                .map(s -> new SectionView(s.getHeading(), markdownService.toHtml(s.getContentMd())))
-                .toList();
+        if ("stream".equals(detailMode)) {
+            streamRenderer.render(doc, servletRequest, response);
+            return null; // 응답을 직접 썼음
+        }
         model.addAttribute("doc", doc);
+        if ("lazy".equals(detailMode)) {
+            // 목차(제목만) + 앞쪽 섹션만: 첫 응답 크기가 문서 전체 길이와 무관
+            var toc = documentService.getHeadings(doc);
+            if (toc.size() > initialSections) {
+                var views = views(documentService.getLeadingSections(doc, initialSections));
+                model.addAttribute("toc", toc);
+                model.addAttribute("sections", views);
+                model.addAttribute("deferred", toc.subList(views.size(), toc.size()));
+                return "docs/detail";
+            }
+        }
+        var views = views(doc.getSections());
+        model.addAttribute("toc", views);
         model.addAttribute("sections", views); // HTML 포함
         return "docs/detail";
     }
 
+    /** 섹션 하나 (lazy 모드에서 화면에 가까워질 때 요청). 섹션 단위 ETag로 재검증 */
+    @GetMapping("/{slug}/sections/{id}")
+    public String section(@PathVariable String slug, @PathVariable Long id,
+            WebRequest request, HttpServletResponse response, Model model) {
+        var section = documentService.getSection(slug, id);
+        LocalDateTime updatedAt = section.getUpdatedAt() != null ? section.getUpdatedAt() : section.getCreatedAt();
+        long lastModified = updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (request.checkNotModified("\"s" + id + "-" + lastModified + "-r" + MarkdownService.RENDERER_VERSION + "\"",
+                lastModified)) {
+            return null;
+        }
+        model.addAttribute("s", view(section));
+        return "docs/section :: section";
+    }
+
+    private SectionView view(DocumentSection s) {
+        return new SectionView(s.getId(), s.getHeading(), markdownService.sectionHtml(s));
+    }
+
+    /** 여러 섹션: 렌더링이 필요한 섹션이 많으면 MarkdownService가 병렬로 처리 */
+    private List<SectionView> views(List<DocumentSection> sections) {
+        List<String> html = markdownService.sectionHtmlAll(sections);
+        List<SectionView> views = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            DocumentSection s = sections.get(i);
+            views.add(new SectionView(s.getId(), s.getHeading(), html.get(i)));
+        }
+        return views;
+    }
+
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/{slug}/edit")
     public String editForm(@PathVariable String slug, Model model) {
@@ -82,18 +177,59 @@ public class DocumentController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/{slug}/edit")
-    public String edit(@PathVariable String slug, @Valid DocumentEditForm form, Principal principal) {
-        var me = userService.getUser(principal.getName());
-        documentService.update(slug, form.getTitle(), form.getSummary(), form.toSectionDtos(), me);
-        return "redirect:/docs/" + slug;
+    public String edit(@PathVariable String slug, @Valid DocumentEditForm form, @CurrentUser SiteUser me,
+            Model model) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                documentService.update(slug, form.getTitle(), form.getSummary(), form.toSectionDtos(), me,
+                        form.getBaseVersion());
+                return "redirect:/docs/" + UriUtils.encodePathSegment(slug, StandardCharsets.UTF_8);
+            } catch (OptimisticLockingFailureException e) {
+                // 같은 순간에 다른 수정이 먼저 커밋됨 → 다시 시도하면 기준 버전이 달라서 병합 경로를 탐
+                if (attempt >= MAX_EDIT_ATTEMPTS) {
+                    throw e;
+                }
+            } catch (EditConflictException e) {
+                // 겹치는 변경만 내 수정으로 채운 병합안을 보여주고, 확인 후 저장하면 현재 버전 기준으로 반영
+                model.addAttribute("form", DocumentEditForm.from(e.getProposal(), e.getCurrentVersion()));
+                model.addAttribute("conflicts", e.getConflicts());
+                model.addAttribute("slug", slug);
+                return "docs/edit_form";
+            }
+        }
     }
 
     @GetMapping("/{slug}/history")
-    public String history(@PathVariable String slug, Model model) {
+    public String history(@PathVariable String slug,
+            @RequestParam(defaultValue = "0") int page,
+            Model model) {
         var doc = documentService.getBySlug(slug);
-        var revs = revisionRepo.findByDocumentOrderByVersionDesc(doc);
+        var revs = revisionService.history(doc, Math.max(0, page), 50); // 음수 페이지는 첫 페이지로
         model.addAttribute("doc", doc);
         model.addAttribute("revisions", revs);
         return "docs/history";
     }
+
+    /** 특정 리비전 내용 (요청할 때만 복원) */
+    @GetMapping("/{slug}/revisions/{version}")
+    public String revision(@PathVariable String slug, @PathVariable int version, Model model) {
+        var doc = documentService.getBySlug(slug);
+        DocumentSnapshot snapshot;
+        try {
+            snapshot = revisionService.materialize(doc, version);
+        } catch (IllegalArgumentException e) {
+            throw new DataNotFoundException("revision not found"); // 없는 버전 → 404
+        }
+        var html = markdownService.toHtmlAll(snapshot.sections().stream().map(DocumentSnapshot.Section::contentMd).toList());
+        var views = new ArrayList<SectionView>(html.size());
+        for (int i = 0; i < html.size(); i++) {
+            var s = snapshot.sections().get(i);
+            views.add(new SectionView(s.id(), s.heading(), html.get(i)));
+        }
+        model.addAttribute("doc", doc);
+        model.addAttribute("version", version);
+        model.addAttribute("snapshot", snapshot);
+        model.addAttribute("sections", views);
+        return "docs/revision";
+    }
 }
@@ -2,6 +2,7 @@ package com.mysite.sbb.document.web;
 
 import com.mysite.sbb.document.domain.Document;
 import com.mysite.sbb.document.domain.DocumentSection;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
 import com.mysite.sbb.document.dto.SectionDto;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -17,11 +18,15 @@ public class DocumentEditForm {
     private String title;
     private String summary;
 
+    /** 편집을 시작한 문서 버전 (hidden). 저장 시 그사이 다른 수정이 있었으면 병합 기준 */
+    private Integer baseVersion;
+
     private List<SectionInner> sections = new ArrayList<>();
 
     @Getter
     @Setter
     public static class SectionInner {
+        private Long id; // 기존 섹션 식별용 (hidden)
         private String heading;
         private String contentMd;
     }
@@ -30,8 +35,10 @@ public class DocumentEditForm {
         DocumentEditForm f = new DocumentEditForm();
         f.setTitle(doc.getTitle());
         f.setSummary(doc.getSummary());
+        f.setBaseVersion(doc.getCurrentVersion());
         for (DocumentSection s : doc.getSections()) {
             SectionInner in = new SectionInner();
+            in.setId(s.getId());
             in.setHeading(s.getHeading());
             in.setContentMd(s.getContentMd());
             f.getSections().add(in);
@@ -41,6 +48,24 @@ public class DocumentEditForm {
         return f;
     }
 
+    /** 편집 충돌 시 병합안으로 폼을 다시 채움 */
+    public static DocumentEditForm from(DocumentSnapshot snapshot, int baseVersion) {
+        DocumentEditForm f = new DocumentEditForm();
+        f.setTitle(snapshot.title());
+        f.setSummary(snapshot.summary());
+        f.setBaseVersion(baseVersion);
+        for (DocumentSnapshot.Section s : snapshot.sections()) {
+            SectionInner in = new SectionInner();
+            in.setId(s.id());
+            in.setHeading(s.heading());
+            in.setContentMd(s.contentMd());
+            f.getSections().add(in);
+        }
+        if (f.getSections().isEmpty())
+            f.getSections().add(new SectionInner());
+        return f;
+    }
+
     public List<SectionDto> toSectionDtos() {
         List<SectionDto> list = new ArrayList<>();
         for (SectionInner s : sections) {
@@ -48,7 +73,8 @@ public class DocumentEditForm {
                     || (s.getContentMd() != null && !s.getContentMd().isBlank())) {
                 list.add(new SectionDto(
                         s.getHeading() == null ? "" : s.getHeading(),
-                        s.getContentMd() == null ? "" : s.getContentMd()));
+                        s.getContentMd() == null ? "" : s.getContentMd(),
+                        s.getId()));
             }
         }
         return list;
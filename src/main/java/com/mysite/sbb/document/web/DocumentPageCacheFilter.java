@@ -0,0 +1,193 @@
+package com.mysite.sbb.document.web;
+
+import com.mysite.sbb.document.dto.DocumentStamp;
+import com.mysite.sbb.document.service.DocumentPageCache;
+import com.mysite.sbb.document.service.DocumentPageCache.CachedPage;
+import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.document.service.MarkdownService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 비로그인 GET /docs/{slug} 를 메모리의 gzip 바이트로 바로 응답.
+ * 보안 필터 뒤(기본 순서)에서 동작하므로 로그인 여부를 알 수 있고, 보안 헤더도 그대로 붙는다.
+ */
+@Component
+public class DocumentPageCacheFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "/docs/";
+    /** 다른 스레드의 렌더링을 기다리는 최대 시간. 넘으면 직접 렌더링 */
+    private static final long WAIT_MILLIS = 5000;
+
+    private final DocumentService documentService;
+    private final DocumentPageCache pageCache;
+    private final boolean enabled;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public DocumentPageCacheFilter(DocumentService documentService,
+            DocumentPageCache pageCache,
+            @Value("${sbb.page-cache.enabled:true}") boolean enabled,
+            @Value("${sbb.docs.detail-mode:full}") String detailMode) {
+        this.documentService = documentService;
+        this.pageCache = pageCache;
+        // 스트리밍 모드는 응답을 모아 두면 의미가 없으므로 캐시하지 않음
+        this.enabled = enabled && !"stream".equals(detailMode);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || request.getQueryString() != null
+                || slugOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<DocumentStamp> stamp = isAnonymous() ? documentService.getStamp(slugOf(request)) : Optional.empty();
+        if (stamp.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String slug = slugOf(request);
+        String etag = stamp.get().etag(MarkdownService.RENDERER_VERSION);
+        long lastModified = stamp.get().lastModified();
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // 캐시 적중/미스/304 모두 인코딩에 따라 달라질 수 있는 응답
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // 강한 ETag는 인코딩마다 달라야 하므로 gzip 본문은 -gz를 붙임 (미스 경로는 원본 본문 + 컨트롤러의 ETag)
+        if (new ServletWebRequest(request, response).checkNotModified(gzip ? gzipEtag(etag) : etag, lastModified)) {
+            return;
+        }
+
+        CachedPage page = pageCache.get(slug, etag);
+        if (page == null) {
+            CompletableFuture<CachedPage> pending = pageCache.beginLoad(etag);
+            if (pending == null) {
+                renderAndCache(slug, etag, lastModified, request, response, chain);
+                return;
+            }
+            page = await(pending);
+            if (page == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+        }
+        write(page, gzip, response);
+    }
+
+    private void renderAndCache(String slug, String etag, long lastModified,
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        CachedPage page = null;
+        try {
+            chain.doFilter(request, wrapper);
+            String contentType = wrapper.getContentType();
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK
+                    && contentType != null && contentType.startsWith("text/html")) {
+                page = new CachedPage(etag, lastModified, contentType,
+                        DocumentPageCache.gzip(wrapper.getContentAsByteArray()));
+            }
+        } finally {
+            pageCache.endLoad(slug, etag, page);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static CachedPage await(CompletableFuture<CachedPage> pending) {
+        try {
+            return pending.get(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private static void write(CachedPage page, boolean gzip, HttpServletResponse response) throws IOException {
+        byte[] body;
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = page.gzip();
+        } else {
+            body = DocumentPageCache.gunzip(page.gzip());
+        }
+        response.setContentType(page.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /** "abc" → "abc-gz" */
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    /** Accept-Encoding에서 gzip의 q값이 0보다 큰지 (gzip;q=0은 거절, gzip이 없으면 *를 따름) */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        return gzip != null ? gzip > 0 : any != null && any > 0;
+    }
+
+    private boolean isAnonymous() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null || trustResolver.isAnonymous(auth);
+    }
+
+    /** /docs/{slug} 형태면 디코딩한 slug, 아니면 null */
+    private static String slugOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PREFIX) || path.length() == PREFIX.length() || path.indexOf('/', PREFIX.length()) >= 0) {
+            return null;
+        }
+        return UriUtils.decode(path.substring(PREFIX.length()), StandardCharsets.UTF_8);
+    }
+}
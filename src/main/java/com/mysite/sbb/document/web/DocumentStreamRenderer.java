@@ -0,0 +1,81 @@
+package com.mysite.sbb.document.web;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentSection;
+import com.mysite.sbb.document.dto.SectionHeading;
+import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.document.service.MarkdownService;
+import com.mysite.sbb.document.web.DocumentController.SectionView;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 문서 상세를 청크로 흘려 보내는 렌더러 (sbb.docs.detail-mode=stream).
+ * 머리(제목/요약/목차)를 먼저 보내고, 섹션은 변환되는 대로 하나씩 써서 flush 한다.
+ * 전체 페이지를 메모리에 모으지 않으므로 브라우저가 앞부분부터 그리기 시작하고, 요청당 메모리도 섹션 한 묶음 분량이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DocumentStreamRenderer {
+
+    /** docs/detail.html 안의 섹션 자리 */
+    private static final String MARKER = "<!--@sections-->";
+    private static final int BATCH = 50;
+    private static final Set<String> SECTION_FRAGMENT = Set.of("section");
+
+    private final ITemplateEngine templateEngine;
+    private final ServletContext servletContext;
+    private final DocumentService documentService;
+    private final MarkdownService markdownService;
+
+    public void render(Document doc, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        WebContext ctx = new WebContext(
+                JakartaServletWebApplication.buildApplication(servletContext).buildExchange(request, response),
+                RequestContextUtils.getLocale(request));
+        ctx.setVariable("doc", doc);
+        List<SectionHeading> toc = documentService.getHeadings(doc);
+        ctx.setVariable("toc", toc);
+        ctx.setVariable("streaming", true);
+
+        // 섹션 없는 페이지 틀을 렌더링해서 자리 표시 앞/뒤로 나눔
+        String frame = templateEngine.process("docs/detail", ctx);
+        int at = frame.indexOf(MARKER);
+        if (at < 0) {
+            throw new IllegalStateException("docs/detail has no streaming marker");
+        }
+
+        response.setContentType("text/html;charset=UTF-8");
+        response.setHeader("X-Accel-Buffering", "no"); // 앞단 프록시가 모아서 보내지 않도록
+        PrintWriter out = response.getWriter();
+        out.write(frame, 0, at);
+        out.flush();
+
+        // 이미 읽은 목차의 id로 BATCH개씩 (OFFSET으로 앞 섹션을 다시 건너뛰지 않고, 본문이 목차와 같은 섹션 목록)
+        for (int from = 0; from < toc.size(); from += BATCH) {
+            List<Long> ids = toc.subList(from, Math.min(from + BATCH, toc.size())).stream()
+                    .map(SectionHeading::id)
+                    .toList();
+            for (DocumentSection s : documentService.getSections(doc, ids)) {
+                ctx.setVariable("s", new SectionView(s.getId(), s.getHeading(), markdownService.sectionHtml(s)));
+                templateEngine.process("docs/section", SECTION_FRAGMENT, ctx, out);
+                out.flush();
+            }
+        }
+
+        int tail = at + MARKER.length();
+        out.write(frame, tail, frame.length() - tail);
+        out.flush();
+    }
+}
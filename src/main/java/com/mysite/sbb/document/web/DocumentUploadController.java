@@ -3,6 +3,10 @@
 //(드래그&드롭 자동삽입은 Step 3에서 JS로 붙이면 돼요.)
 package com.mysite.sbb.document.web;
 
+import com.mysite.sbb.attachment.AttachmentImageService;
+import com.mysite.sbb.attachment.AttachmentStore;
+import com.mysite.sbb.attachment.StoredAttachment;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -10,27 +14,38 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.*;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @Controller
 @RequestMapping("/docs")
+@RequiredArgsConstructor
 public class DocumentUploadController {
 
+    private final AttachmentStore attachmentStore;
+    private final AttachmentImageService attachmentImageService;
+
     @PreAuthorize("isAuthenticated()")
     @PostMapping(value = "/{slug}/attachments", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public Map<String, String> upload(@PathVariable String slug,
             @RequestParam("file") MultipartFile file) throws Exception {
-        String uploadsDir = "src/main/resources/static/uploads";
-        Files.createDirectories(Path.of(uploadsDir));
+        String original = file.getOriginalFilename() == null ? null : StringUtils.cleanPath(file.getOriginalFilename());
 
-        String original = StringUtils.cleanPath(file.getOriginalFilename());
-        String filename = UUID.randomUUID() + "-" + (original == null ? "file" : original);
-        Path target = Path.of(uploadsDir, filename);
-        file.transferTo(target.toFile());
+        // 업로드 스트림을 그대로 저장소로 흘려 보냄 (내용 해시로 저장, 같은 파일은 한 번만)
+        StoredAttachment saved;
+        try (InputStream in = file.getInputStream()) {
+            saved = attachmentStore.store(in, original);
+        }
 
-        return Map.of("url", "/uploads/" + filename);
+        // 이미지면 크기 기록 + 파생 이미지(축소본) 생성 작업 등록 → 백그라운드 처리
+        Map<String, String> res = new LinkedHashMap<>();
+        res.put("url", saved.url());
+        attachmentImageService.register(saved).ifPresent(size -> {
+            res.put("width", String.valueOf(size.width()));
+            res.put("height", String.valueOf(size.height()));
+        });
+        return res;
     }
 }
@@ -0,0 +1,29 @@
+package com.mysite.sbb.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋 페이지: 전체 개수(COUNT) 없이 다음 페이지 커서만 가진다.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    /**
+     * size+1개를 조회한 결과로 페이지 생성. 한 개가 더 있으면 다음 페이지가 있는 것.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, KeysetCursor> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> content = fetched.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+}
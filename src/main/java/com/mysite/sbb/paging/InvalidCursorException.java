@@ -0,0 +1,14 @@
+package com.mysite.sbb.paging;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** 해석할 수 없는 커서 토큰 (잘리거나 변조된 ?cursor=). 요청 오류이므로 400 */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "invalid cursor")
+public class InvalidCursorException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.mysite.sbb.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션 위치: 정렬 키(시각) + 동률을 끊는 id.
+ * 클라이언트에는 내용을 알 필요 없는 불투명 토큰(base64url)으로 내려준다.
+ */
+public record KeysetCursor(LocalDateTime at, long id) {
+
+    public String encode() {
+        String raw = at + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 비어 있으면 null(첫 페이지), 해석할 수 없으면 InvalidCursorException(400) */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+    }
+}
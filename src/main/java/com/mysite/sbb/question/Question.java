@@ -9,20 +9,28 @@ import com.mysite.sbb.user.SiteUser;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+		@Index(name = "idx_question_create_date_id", columnList = "create_date, id") // 목록 키셋 페이지네이션
+})
 public class Question {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq")
+	@SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = 50)
 	private Integer id;
 	
 	@Column(length = 200)
@@ -36,7 +44,7 @@ public class Question {
 	@OneToMany(mappedBy = "question", cascade = CascadeType.REMOVE)
 	private List<Answer> answerList;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private SiteUser author;
 	
 	private LocalDateTime modifyDate;
@@ -2,8 +2,9 @@ package com.mysite.sbb.question;
 
 import java.util.List;
 import java.security.Principal;
+import com.mysite.sbb.paging.CursorPage;
 import com.mysite.sbb.user.SiteUser;
-import com.mysite.sbb.user.UserService;
+import com.mysite.sbb.user.CurrentUser;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -13,7 +14,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -30,20 +30,19 @@ import com.mysite.sbb.answer.AnswerForm;
 public class QuestionController {
 	
 	private final QuestionService questionService;
-	private final UserService userService;
 	
 	
+	// 키셋 페이지네이션 (/docs와 같음): 깊이 넘겨도, 크롤러가 따라가도 첫 페이지와 같은 비용
 	@GetMapping("/list")
-	public String list(Model model, @RequestParam(value="page", defaultValue="0")
-	int page) {
-		Page<Question> paging = this.questionService.getList(page);
-		model.addAttribute("paging", paging);
+	public String list(Model model, @RequestParam(value="cursor", required=false) String cursor) {
+		CursorPage<QuestionListItem> items = this.questionService.getListAfter(cursor, 10);
+		model.addAttribute("items", items);
 		return "question_list";
 	}
 	
 	@GetMapping(value = "/detail/{id}")
 	public String detail(Model model, @PathVariable("id") Integer id, AnswerForm answerForm) {
-		Question question = this.questionService.getQuestion(id);
+		Question question = this.questionService.getQuestionDetail(id);
 		model.addAttribute("question", question);
 		return "question_detail";
 	}
@@ -57,11 +56,10 @@ public class QuestionController {
 	@PreAuthorize("isAuthenticated()")
 	@PostMapping("/create")
 	public String questionCreate(@Valid QuestionForm questionForm, BindingResult
-			bindingResult, Principal principal) {
+			bindingResult, @CurrentUser SiteUser siteUser) {
 		if (bindingResult.hasErrors()) {
 			return "question_form";
 		}
-		SiteUser siteUser = this.userService.getUser(principal.getName());
 		this.questionService.create(questionForm.getSubject(), questionForm.getContent(), siteUser);
 		return "redirect:/question/list";
 	}
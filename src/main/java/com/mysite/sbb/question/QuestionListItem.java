@@ -0,0 +1,14 @@
+package com.mysite.sbb.question;
+
+import java.time.LocalDateTime;
+
+/**
+ * 질문 목록 한 줄. 작성자 이름과 답변 수를 한 쿼리로 가져온다.
+ */
+public record QuestionListItem(
+		Integer id,
+		String subject,
+		String authorName,
+		LocalDateTime createDate,
+		Long answerCount) {
+}
@@ -1,14 +1,36 @@
 package com.mysite.sbb.question;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface QuestionRepository extends JpaRepository<Question, Integer>{
 	Question findBySubject(String subject);
 	Question findBySubjectAndContent(String subject, String content);
 	List<Question> findBySubjectLike(String subject);
 	Page<Question> findAll(Pageable pageable);
+	
+	// 목록: 작성자/답변 수를 행마다 따로 읽지 않도록 프로젝션으로 한 번에, 키셋이라 COUNT 없음
+	@Query("select new com.mysite.sbb.question.QuestionListItem(q.id, q.subject, a.username, q.createDate, "
+			+ "(select count(ans) from Answer ans where ans.question = q)) "
+			+ "from Question q left join q.author a order by q.createDate desc, q.id desc")
+	List<QuestionListItem> findLatestItems(Pageable limit);
+	
+	@Query("select new com.mysite.sbb.question.QuestionListItem(q.id, q.subject, a.username, q.createDate, "
+			+ "(select count(ans) from Answer ans where ans.question = q)) "
+			+ "from Question q left join q.author a "
+			+ "where q.createDate < :at or (q.createDate = :at and q.id < :id) "
+			+ "order by q.createDate desc, q.id desc")
+	List<QuestionListItem> findLatestItemsAfter(@Param("at") LocalDateTime at, @Param("id") Integer id, Pageable limit);
+	
+	// 상세: 질문 작성자 + 답변 + 답변 작성자를 한 번에
+	@EntityGraph(attributePaths = {"author", "answerList", "answerList.author"})
+	Optional<Question> findWithAnswersById(Integer id);
 }
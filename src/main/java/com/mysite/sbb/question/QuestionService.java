@@ -1,17 +1,17 @@
 package com.mysite.sbb.question;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.time.LocalDateTime;
 import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.paging.CursorPage;
+import com.mysite.sbb.paging.InvalidCursorException;
+import com.mysite.sbb.paging.KeysetCursor;
 import com.mysite.sbb.user.SiteUser;
 
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,11 +22,18 @@ public class QuestionService {
 	
 	private final QuestionRepository questionRepository;
 	
-	public Page<Question> getList(int page) {
-		List<Sort.Order> sorts = new ArrayList<>();
-		sorts.add(Sort.Order.desc("createDate"));
-		Pageable pageable = PageRequest.of(page, 10, Sort.by(sorts));
-		return this.questionRepository.findAll(pageable);
+	// 키셋 목록: 깊은 페이지도 첫 페이지와 같은 비용, COUNT 없음
+	public CursorPage<QuestionListItem> getListAfter(String cursor, int size) {
+		KeysetCursor after = KeysetCursor.decode(cursor);
+		if (after != null && (after.id() < 0 || after.id() > Integer.MAX_VALUE)) {
+			// 질문 id는 int: 범위 밖이면 조작된 커서 (잘라서 엉뚱한 위치로 가지 않게)
+			throw new InvalidCursorException("invalid cursor");
+		}
+		Pageable limit = PageRequest.of(0, size + 1);
+		List<QuestionListItem> fetched = after == null
+				? this.questionRepository.findLatestItems(limit)
+				: this.questionRepository.findLatestItemsAfter(after.at(), (int) after.id(), limit);
+		return CursorPage.of(fetched, size, q -> new KeysetCursor(q.createDate(), q.id()));
 	}
 	
 	public Question getQuestion(Integer id) {
@@ -39,6 +46,12 @@ public class QuestionService {
 		}
 	}
 	
+	// 상세 화면용: 답변/작성자까지 한 쿼리로
+	public Question getQuestionDetail(Integer id) {
+		return this.questionRepository.findWithAnswersById(id)
+				.orElseThrow(() -> new DataNotFoundException("question not found"));
+	}
+	
 	public void create(String subject, String content, SiteUser user) {
 		Question q = new Question();
 		q.setSubject(subject);
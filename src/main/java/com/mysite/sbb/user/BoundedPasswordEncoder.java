@@ -0,0 +1,138 @@
+package com.mysite.sbb.user;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비밀번호 해시/검증을 전용 스레드 몇 개에서만 실행하는 PasswordEncoder.
+ * 로그인이 몰려도 bcrypt가 쓰는 CPU는 이 스레드 수로 제한되므로 페이지 렌더링이 굶지 않는다.
+ * 대기열이 차거나 시간 안에 처리되지 않으면 바로 실패시킨다 (로그인 실패 / 가입 실패로 표시됨).
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	/** 해시 작업 통계 (밀리초) */
+	public record Stats(long count, double avgMillis, double maxMillis, double avgWaitMillis, long rejected, int queued) {
+	}
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final long timeoutMillis;
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder hashNanos = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+	private final LongAdder rejected = new LongAdder();
+	private long lastLoggedCount;
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueSize, long timeoutMillis) {
+		this.delegate = delegate;
+		this.timeoutMillis = timeoutMillis;
+		AtomicInteger seq = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueSize),
+				r -> {
+					Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	/** 해시 접두어/강도만 보므로 호출 스레드에서 바로 */
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	public Stats stats() {
+		long n = count.sum();
+		return new Stats(n,
+				n == 0 ? 0 : hashNanos.sum() / 1e6 / n,
+				maxNanos.get() / 1e6,
+				n == 0 ? 0 : waitNanos.sum() / 1e6 / n,
+				rejected.sum(),
+				executor.getQueue().size());
+	}
+
+	@Scheduled(fixedDelayString = "${sbb.security.hash-stats-log-ms:300000}")
+	public void logStats() {
+		Stats s = stats();
+		if (s.count() != lastLoggedCount || s.rejected() > 0) {
+			lastLoggedCount = s.count();
+			log.info("password hashing: {} ops, avg {} ms (max {} ms), avg queue wait {} ms, rejected {}",
+					s.count(), String.format("%.1f", s.avgMillis()), String.format("%.1f", s.maxMillis()),
+					String.format("%.1f", s.avgWaitMillis()), s.rejected());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	private <T> T run(Supplier<T> work) {
+		long submitted = System.nanoTime();
+		Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				long started = System.nanoTime();
+				waitNanos.add(started - submitted);
+				try {
+					return work.get();
+				} finally {
+					long took = System.nanoTime() - started;
+					count.increment();
+					hashNanos.add(took);
+					maxNanos.accumulate(took);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new AuthenticationServiceException("password hashing is busy, try again later", e);
+		}
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			rejected.increment();
+			throw new AuthenticationServiceException("password hashing timed out", e);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new AuthenticationServiceException("interrupted while hashing password", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.mysite.sbb.user;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 파라미터에 로그인 사용자(SiteUser)를 주입. 비로그인이면 null.
+ * (UserService의 캐시를 거치므로 요청마다 사용자 SELECT가 나가지 않음)
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
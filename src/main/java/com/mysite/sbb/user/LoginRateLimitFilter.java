@@ -0,0 +1,39 @@
+package com.mysite.sbb.user;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * POST /user/login 앞에서 시도 횟수를 제한 (비밀번호 해시 검증 전에 걸러서 CPU를 아낌).
+ * 보안 필터 체인 안에 SecurityConfig가 직접 넣는다 (빈으로 등록하지 않음).
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+	private final LoginRateLimiter limiter;
+
+	public LoginRateLimitFilter(LoginRateLimiter limiter) {
+		this.limiter = limiter;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !"POST".equals(request.getMethod())
+				|| !(request.getContextPath() + "/user/login").equals(request.getRequestURI());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		if (!limiter.tryAcquire(request.getParameter("username"), request.getRemoteAddr())) {
+			response.sendRedirect(request.getContextPath() + "/user/login?limited");
+			return;
+		}
+		chain.doFilter(request, response);
+	}
+}
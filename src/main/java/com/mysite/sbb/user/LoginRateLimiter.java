@@ -0,0 +1,87 @@
+package com.mysite.sbb.user;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그인 시도 제한: 사용자명별 / IP별 토큰 버킷 (메모리).
+ * 시도 한 번에 토큰 하나를 쓰고, 토큰은 분당 정해진 개수만큼 다시 찬다.
+ */
+@Component
+public class LoginRateLimiter {
+
+	private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+	private final int userCapacity;
+	private final double userRefillPerNano;
+	private final int ipCapacity;
+	private final double ipRefillPerNano;
+
+	public LoginRateLimiter(@Value("${sbb.security.login.user-capacity:5}") int userCapacity,
+			@Value("${sbb.security.login.user-refill-per-minute:5}") int userRefillPerMinute,
+			@Value("${sbb.security.login.ip-capacity:30}") int ipCapacity,
+			@Value("${sbb.security.login.ip-refill-per-minute:30}") int ipRefillPerMinute) {
+		this.userCapacity = userCapacity;
+		this.userRefillPerNano = userRefillPerMinute / 60e9;
+		this.ipCapacity = ipCapacity;
+		this.ipRefillPerNano = ipRefillPerMinute / 60e9;
+	}
+
+	/** 이번 시도를 허용하면 true (IP → 사용자명 순으로 토큰 차감) */
+	public boolean tryAcquire(String username, String ip) {
+		long now = System.nanoTime();
+		if (ip != null && !bucket("ip:" + ip, ipCapacity, ipRefillPerNano).tryConsume(now)) {
+			return false;
+		}
+		if (username != null && !username.isBlank()) {
+			return bucket("u:" + username.toLowerCase(), userCapacity, userRefillPerNano).tryConsume(now);
+		}
+		return true;
+	}
+
+	/** 가득 찬(한동안 시도가 없던) 버킷 정리 */
+	@Scheduled(fixedDelay = 60_000)
+	public void evictIdle() {
+		long now = System.nanoTime();
+		buckets.values().removeIf(b -> b.isFull(now));
+	}
+
+	private TokenBucket bucket(String key, int capacity, double refillPerNano) {
+		return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerNano));
+	}
+
+	private static final class TokenBucket {
+		private final int capacity;
+		private final double refillPerNano;
+		private double tokens;
+		private long updatedAt;
+
+		TokenBucket(int capacity, double refillPerNano) {
+			this.capacity = capacity;
+			this.refillPerNano = refillPerNano;
+			this.tokens = capacity;
+			this.updatedAt = System.nanoTime();
+		}
+
+		synchronized boolean tryConsume(long now) {
+			refill(now);
+			if (tokens < 1) {
+				return false;
+			}
+			tokens -= 1;
+			return true;
+		}
+
+		synchronized boolean isFull(long now) {
+			refill(now);
+			return tokens >= capacity;
+		}
+
+		private void refill(long now) {
+			tokens = Math.min(capacity, tokens + (now - updatedAt) * refillPerNano);
+			updatedAt = now;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.mysite.sbb.user;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mysite.sbb.cache.WeightedLruCache;
+
+/**
+ * username/id → SiteUser 캐시 (개수 제한 + TTL).
+ * 쓰기 요청마다 작성자 조회 SELECT가 나가지 않도록 한다. 값은 영속성 컨텍스트 밖의(detached) 엔티티이며,
+ * 연관관계(작성자 등)에 넣을 때는 id만 쓰이므로 그대로 사용해도 된다.
+ * 사용자 정보가 바뀌면 {@link #invalidate}로 지울 것.
+ */
+@Component
+public class SiteUserCache {
+
+	private record Entry(SiteUser user, long expiresAt) {
+		boolean expired() {
+			return System.nanoTime() - expiresAt > 0;
+		}
+	}
+
+	private final WeightedLruCache<String, Entry> byUsername;
+	private final WeightedLruCache<Long, Entry> byId;
+	private final long ttlNanos;
+
+	public SiteUserCache(@Value("${sbb.user-cache.max-size:10000}") long maxSize,
+			@Value("${sbb.user-cache.ttl-seconds:300}") long ttlSeconds) {
+		this.byUsername = new WeightedLruCache<>(maxSize, e -> 1);
+		this.byId = new WeightedLruCache<>(maxSize, e -> 1);
+		this.ttlNanos = ttlSeconds * 1_000_000_000L;
+	}
+
+	/** 캐시에 없거나 만료됐으면 loader로 읽어서 넣음 (없는 사용자면 null, 캐시하지 않음) */
+	public SiteUser getByUsername(String username, Function<String, Optional<SiteUser>> loader) {
+		Entry e = byUsername.get(username);
+		if (e != null && !e.expired()) {
+			return e.user();
+		}
+		return loader.apply(username).map(this::put).orElse(null);
+	}
+
+	public SiteUser getById(Long id, Function<Long, Optional<SiteUser>> loader) {
+		Entry e = byId.get(id);
+		if (e != null && !e.expired()) {
+			return e.user();
+		}
+		return loader.apply(id).map(this::put).orElse(null);
+	}
+
+	public void invalidate(SiteUser user) {
+		if (user.getUsername() != null) {
+			byUsername.remove(user.getUsername());
+		}
+		if (user.getId() != null) {
+			byId.remove(user.getId());
+		}
+	}
+
+	public void clear() {
+		byUsername.clear();
+		byId.clear();
+	}
+
+	public WeightedLruCache.Stats stats() {
+		return byUsername.stats();
+	}
+
+	private SiteUser put(SiteUser user) {
+		Entry e = new Entry(user, System.nanoTime() + ttlNanos);
+		byUsername.put(user.getUsername(), e);
+		byId.put(user.getId(), e);
+		return user;
+	}
+}
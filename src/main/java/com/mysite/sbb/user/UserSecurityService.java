@@ -2,12 +2,12 @@ package com.mysite.sbb.user;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -16,17 +16,18 @@ import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 @Service
-public class UserSecurityService implements UserDetailsService {
+public class UserSecurityService implements UserDetailsService, UserDetailsPasswordService {
 	
 	private final UserRepository userRepository;
+	private final SiteUserCache userCache;
 	
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		Optional<SiteUser> _siteUser = this.userRepository.findByUsername(username);
-		if(_siteUser.isEmpty()) {
+		// 로그인 때 읽은 사용자를 캐시에 남겨 두면 이후 쓰기 요청은 사용자 SELECT 없이 처리됨
+		SiteUser siteUser = this.userCache.getByUsername(username, this.userRepository::findByUsername);
+		if(siteUser == null) {
 			throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
 		}
-		SiteUser siteUser = _siteUser.get();
 		List<GrantedAuthority> authorities = new ArrayList<>();
 		if("admin".equals(username)) {
 			authorities.add(new SimpleGrantedAuthority(UserRole.ADMIN.getValue()));
@@ -37,4 +38,14 @@ public class UserSecurityService implements UserDetailsService {
 		return new User(siteUser.getUsername(), siteUser.getPassword(), authorities);
 	}
 
+	/** 로그인 성공 시 해시 강도/형식이 낡았으면 Spring Security가 새 해시로 호출 */
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		SiteUser siteUser = this.userRepository.findByUsername(user.getUsername())
+				.orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+		siteUser.setPassword(newPassword);
+		this.userRepository.save(siteUser);
+		this.userCache.invalidate(siteUser);
+		return User.withUserDetails(user).password(newPassword).build();
+	}
 }
@@ -1,7 +1,5 @@
 package com.mysite.sbb.user;
 
-import java.util.Optional;
-
 import com.mysite.sbb.DataNotFoundException;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 public class UserService {
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final SiteUserCache userCache;
 	
 	public SiteUser create(String username, String email, String password) {
 		SiteUser user = new SiteUser();
@@ -21,16 +20,24 @@ public class UserService {
 		user.setEmail(email);
 		user.setPassword(passwordEncoder.encode(password));
 		this.userRepository.save(user);
+		this.userCache.invalidate(user);
 		return user;
 	}
 	
+	/** 캐시를 거쳐 조회 (TTL 동안은 SELECT 없음) */
 	public SiteUser getUser(String username) {
-		Optional<SiteUser> siteUser = this.userRepository.findByUsername(username);
-		if (siteUser.isPresent()) {
-			return siteUser.get();
+		SiteUser siteUser = this.userCache.getByUsername(username, this.userRepository::findByUsername);
+		if (siteUser == null) {
+			throw new DataNotFoundException("siteuser not found");
 		}
-		else {
+		return siteUser;
+	}
+	
+	public SiteUser getUser(Long id) {
+		SiteUser siteUser = this.userCache.getById(id, this.userRepository::findById);
+		if (siteUser == null) {
 			throw new DataNotFoundException("siteuser not found");
 		}
+		return siteUser;
 	}
 }
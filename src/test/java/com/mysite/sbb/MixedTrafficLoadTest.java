@@ -0,0 +1,236 @@
+package com.mysite.sbb;
+
+import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.SectionDto;
+import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.user.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드(+DB 벌크헤드) 모드 비교 부하 테스트.
+ * 같은 시나리오(읽기 80%, 수정 15%, 업로드 5%)를 두 모드로 각각 띄운 앱에 보내고 처리량과 p99를 출력한다.
+ * 일반 test 작업에서는 제외되고 ./gradlew loadTest 로만 실행된다.
+ */
+@Tag("load")
+class MixedTrafficLoadTest {
+
+    private static final int SECONDS = Integer.getInteger("load.seconds", 15);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int UPLOAD_BYTES = 256 * 1024;
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+    private static final Pattern SECTION_ID = Pattern.compile("name=\"sections\\[0\\]\\.id\" value=\"(\\d+)\"");
+    private static final Pattern BASE_VERSION = Pattern.compile("name=\"baseVersion\" value=\"(\\d+)\"");
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        System.out.println();
+        System.out.printf("%-9s %8s %9s %9s %9s %9s %9s %7s%n",
+                "mode", "ops", "ops/s", "read p99", "edit p99", "upl p99", "all p99", "errors");
+        for (Result r : List.of(platform, virtual)) {
+            System.out.printf("%-9s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n",
+                    r.mode, r.ops(), r.ops() / (double) SECONDS,
+                    r.p99("read"), r.p99("edit"), r.p99("upload"), r.p99(null), r.errors.sum());
+        }
+        for (Result r : List.of(platform, virtual)) {
+            assertTrue(r.errors.sum() <= r.ops() / 100, r.mode + " error rate too high: " + r.errors.sum() + "/" + r.ops());
+        }
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        Path dir = Files.createTempDirectory("sbb-load-" + mode);
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(SbbApplication.class)
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                        "spring.datasource.url", "jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto", "create-drop",
+                        "spring.jpa.properties.hibernate.show_sql", "false",
+                        "sbb.search.index-dir", dir.resolve("search").toString(),
+                        "sbb.attachments.dir", dir.resolve("attachments").toString(),
+                        // 렌더링/DB 경로를 재려는 것이므로 출력 캐시는 끈다
+                        "sbb.page-cache.enabled", "false",
+                        // 클라이언트 전부가 같은 IP/계정으로 로그인하므로 시도 제한은 풀어 둔다
+                        "sbb.security.login.user-capacity", "100000",
+                        "sbb.security.login.ip-capacity", "100000"))
+                .run();
+        try {
+            String base = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            DocumentService documents = ctx.getBean(DocumentService.class);
+            ctx.getBean(UserService.class).create("load", "load@example.com", "load-pass");
+
+            // 클라이언트마다 자기 문서를 수정 (편집 충돌 없이 쓰기 부하만 측정)
+            List<String> slugs = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                List<SectionDto> sections = new ArrayList<>();
+                for (int s = 0; s < 5; s++) {
+                    sections.add(new SectionDto("섹션 " + s, "본문 " + i + "-" + s + " **굵게** 그리고 `코드`\n\n- 항목\n- 항목"));
+                }
+                slugs.add(documents.create(new DocumentCreateDto("부하 문서 " + i, "요약", null, sections,
+                        "load-" + mode + "-" + i), null).getSlug());
+            }
+
+            Result result = new Result(mode);
+            long deadline = System.nanoTime() + SECONDS * 1_000_000_000L;
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTS; i++) {
+                    String own = slugs.get(i);
+                    clients.submit(() -> client(base, own, slugs, deadline, result));
+                }
+            }
+            return result;
+        } finally {
+            ctx.close();
+        }
+    }
+
+    private void client(String base, String own, List<String> slugs, long deadline, Result result) {
+        HttpClient http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        try {
+            String token = extract(CSRF, get(http, base + "/user/login").body());
+            post(http, base + "/user/login", form(Map.of("username", "load", "password", "load-pass", "_csrf", token)));
+
+            while (System.nanoTime() < deadline) {
+                int dice = ThreadLocalRandom.current().nextInt(100);
+                long started = System.nanoTime();
+                int status;
+                String op;
+                if (dice < 80) {
+                    op = "read";
+                    String slug = slugs.get(ThreadLocalRandom.current().nextInt(slugs.size()));
+                    status = get(http, base + "/docs/" + slug).statusCode();
+                } else if (dice < 95) {
+                    op = "edit";
+                    String page = get(http, base + "/docs/" + own + "/edit").body();
+                    status = post(http, base + "/docs/" + own + "/edit", form(Map.of(
+                            "_csrf", extract(CSRF, page),
+                            "baseVersion", extract(BASE_VERSION, page),
+                            "title", "부하 문서",
+                            "summary", "요약 " + started,
+                            "sections[0].id", extract(SECTION_ID, page),
+                            "sections[0].heading", "섹션 0",
+                            "sections[0].contentMd", "수정 " + started))).statusCode();
+                } else {
+                    op = "upload";
+                    String page = get(http, base + "/docs/" + own + "/edit").body();
+                    status = upload(http, base + "/docs/" + own + "/attachments", extract(CSRF, page)).statusCode();
+                }
+                result.record(op, System.nanoTime() - started, status < 400);
+            }
+        } catch (Exception e) {
+            result.errors.increment();
+        }
+    }
+
+    private static HttpResponse<String> get(HttpClient http, String url) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(HttpClient http, String url, String body) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> upload(HttpClient http, String url, String csrf) throws Exception {
+        byte[] data = new byte[UPLOAD_BYTES];
+        ThreadLocalRandom.current().nextBytes(data); // 매번 다른 내용 → 중복 제거 없이 실제 쓰기
+        String boundary = "----sbbload" + System.nanoTime();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(UPLOAD_BYTES + 512);
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"load.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(data);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("X-CSRF-TOKEN", csrf)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String form(Map<String, String> fields) {
+        return fields.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String extract(Pattern pattern, String html) {
+        Matcher m = pattern.matcher(html);
+        if (!m.find()) {
+            throw new IllegalStateException("pattern not found: " + pattern);
+        }
+        return m.group(1);
+    }
+
+    /** 작업 종류별 지연 시간(ns) */
+    private static final class Result {
+        final String mode;
+        final ConcurrentLinkedQueue<long[]> samples = new ConcurrentLinkedQueue<>();
+        final Map<String, Integer> kinds = Map.of("read", 0, "edit", 1, "upload", 2);
+        final LongAdder errors = new LongAdder();
+
+        Result(String mode) {
+            this.mode = mode;
+        }
+
+        void record(String op, long nanos, boolean ok) {
+            samples.add(new long[]{kinds.get(op), nanos});
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        long ops() {
+            return samples.size();
+        }
+
+        /** p99 (ms). op가 null이면 전체 */
+        double p99(String op) {
+            long[] sorted = samples.stream()
+                    .filter(s -> op == null || s[0] == kinds.get(op))
+                    .mapToLong(s -> s[1])
+                    .sorted()
+                    .toArray();
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.99) - 1)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mysite.sbb;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * test 프로필 컨텍스트마다 고유한 id와 임시 디렉터리를 정해 둔다 (sbb.test.id, sbb.test.dir).
+ * application-test.properties가 이 값으로 메모리 DB 이름/검색 세그먼트/첨부 위치를 정하므로
+ * 컨텍스트끼리 DB나 파일을 공유하지 않는다.
+ */
+public class TestEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.matchesProfiles("test")) {
+            return;
+        }
+        String id = UUID.randomUUID().toString();
+        try {
+            String dir = Files.createTempDirectory("sbb-test-").toString();
+            environment.getPropertySources().addLast(new MapPropertySource("sbbTestContext",
+                    Map.of("sbb.test.id", id, "sbb.test.dir", dir)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mysite.sbb.document;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentOutbox;
+import com.mysite.sbb.document.domain.DocumentRevision;
+import com.mysite.sbb.document.domain.DocumentSection;
+import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.SectionDto;
+import com.mysite.sbb.document.dto.SectionHeading;
+import com.mysite.sbb.document.repository.DocumentOutboxRepository;
+import com.mysite.sbb.document.repository.DocumentRepository;
+import com.mysite.sbb.document.repository.DocumentRevisionRepository;
+import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.document.service.RevisionOutboxWorker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 같은 기준 버전에서 시작한 두 수정이 동시에 커밋될 때: 늦은 쪽은 @Version에 걸려
+ * OptimisticLockingFailureException (컨트롤러가 재시도하는 예외), 재시도는 병합 경로로 두 수정을 모두 살린다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentConcurrentEditTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository docRepo;
+
+    @Autowired
+    private DocumentOutboxRepository outboxRepo;
+
+    @Autowired
+    private DocumentRevisionRepository revisionRepo;
+
+    @Autowired
+    private RevisionOutboxWorker worker;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    void concurrentUpdatesFromSameBaseBothSurvive() throws Exception {
+        Document doc = documentService.create(new DocumentCreateDto("동시 수정", "요약", null,
+                List.of(new SectionDto("A", "a"), new SectionDto("B", "b")), null), null);
+        String slug = doc.getSlug();
+        List<Long> ids = documentService.getHeadings(doc).stream().map(SectionHeading::id).toList();
+        int base = doc.getCurrentVersion();
+        List<SectionDto> editA = List.of(new SectionDto("A", "a1", ids.get(0)), new SectionDto("B", "b", ids.get(1)));
+        List<SectionDto> editB = List.of(new SectionDto("A", "a", ids.get(0)), new SectionDto("B", "b2", ids.get(1)));
+
+        // 첫 번째 수정의 트랜잭션이 문서를 읽은 뒤, 두 번째 수정이 다른 스레드에서 먼저 커밋
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () ->
+                    new TransactionTemplate(txManager).executeWithoutResult(status -> {
+                        Document stale = docRepo.findBySlug(slug).orElseThrow();
+                        stale.getSections().size();
+                        try {
+                            other.submit(() -> documentService.update(slug, "동시 수정", "요약", editB, null, base))
+                                    .get();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                        documentService.update(slug, "동시 수정", "요약", editA, null, base);
+                    }));
+        } finally {
+            other.shutdown();
+        }
+
+        // 컨트롤러처럼 다시 시도: 이제 기준 버전 != 현재 버전이므로 병합
+        documentService.update(slug, "동시 수정", "요약", editA, null, base);
+
+        Document merged = documentService.getBySlug(slug);
+        assertEquals(List.of("a1", "b2"),
+                documentService.getLeadingSections(merged, 10).stream().map(DocumentSection::getContentMd).toList());
+        assertEquals(base + 2, merged.getCurrentVersion());
+        assertEquals(List.of(base, base + 1, base + 2),
+                outboxRepo.findByDocumentIdOrderByVersionAsc(doc.getId()).stream().map(DocumentOutbox::getVersion).toList());
+
+        worker.drain();
+        assertEquals(List.of(base, base + 1, base + 2),
+                revisionRepo.findByDocumentIdOrderByVersionAsc(doc.getId()).stream().map(DocumentRevision::getVersion).toList());
+    }
+}
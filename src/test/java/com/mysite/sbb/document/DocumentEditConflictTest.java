@@ -0,0 +1,102 @@
+package com.mysite.sbb.document;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentSection;
+import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.SectionDto;
+import com.mysite.sbb.document.dto.SectionHeading;
+import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.document.service.EditConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 기준 버전에서 시작한 두 수정: 다른 섹션을 고치면 병합되고, 같은 섹션을 다르게 고치면 충돌.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentEditConflictTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Test
+    void disjointEditsMergeAndOverlappingEditsConflict() {
+        Document doc = documentService.create(new DocumentCreateDto("병합", "요약", null,
+                List.of(new SectionDto("A", "a"), new SectionDto("B", "b"), new SectionDto("C", "c")), null), null);
+        String slug = doc.getSlug();
+        List<Long> ids = documentService.getHeadings(doc).stream().map(SectionHeading::id).toList();
+        int base = doc.getCurrentVersion();
+
+        // 첫 번째 편집자: A 수정 + 새 섹션 D
+        documentService.update(slug, "병합", "요약", List.of(
+                new SectionDto("A", "a1", ids.get(0)),
+                new SectionDto("B", "b", ids.get(1)),
+                new SectionDto("C", "c", ids.get(2)),
+                new SectionDto("D", "d")), null, base);
+
+        // 두 번째 편집자(같은 기준 버전): B 수정 + 요약 수정 → 자동 병합
+        documentService.update(slug, "병합", "새 요약", List.of(
+                new SectionDto("A", "a", ids.get(0)),
+                new SectionDto("B", "b2", ids.get(1)),
+                new SectionDto("C", "c", ids.get(2))), null, base);
+
+        Document merged = documentService.getBySlug(slug);
+        assertEquals("새 요약", merged.getSummary());
+        assertEquals(List.of("a1", "b2", "c", "d"),
+                documentService.getLeadingSections(merged, 10).stream().map(DocumentSection::getContentMd).toList());
+        assertEquals(base + 2, merged.getCurrentVersion());
+
+        // 세 번째 편집자(여전히 같은 기준 버전): A를 다르게 수정 → 충돌, A만 보고
+        EditConflictException e = assertThrows(EditConflictException.class, () ->
+                documentService.update(slug, "병합", "요약", List.of(
+                        new SectionDto("A", "a3", ids.get(0)),
+                        new SectionDto("B", "b", ids.get(1)),
+                        new SectionDto("C", "c", ids.get(2))), null, base));
+        assertEquals(List.of("섹션 'A'"), e.getConflicts());
+        assertEquals(base + 2, e.getCurrentVersion());
+        assertTrue(e.getProposal().sections().stream().anyMatch(s -> "a3".equals(s.contentMd())));
+        assertTrue(e.getProposal().sections().stream().anyMatch(s -> "b2".equals(s.contentMd())));
+    }
+
+    @Test
+    void reorderByOthersIsKeptAndDifferentReordersConflict() {
+        Document doc = documentService.create(new DocumentCreateDto("순서 병합", "요약", null,
+                List.of(new SectionDto("A", "a"), new SectionDto("B", "b"), new SectionDto("C", "c")), null), null);
+        String slug = doc.getSlug();
+        List<Long> ids = documentService.getHeadings(doc).stream().map(SectionHeading::id).toList();
+        int base = doc.getCurrentVersion();
+
+        // 첫 번째 편집자: 순서만 C, A, B로
+        documentService.update(slug, "순서 병합", "요약", List.of(
+                new SectionDto("C", "c", ids.get(2)),
+                new SectionDto("A", "a", ids.get(0)),
+                new SectionDto("B", "b", ids.get(1))), null, base);
+
+        // 두 번째 편집자(같은 기준 버전): 순서는 그대로 두고 B만 수정 → 상대 순서 유지
+        documentService.update(slug, "순서 병합", "요약", List.of(
+                new SectionDto("A", "a", ids.get(0)),
+                new SectionDto("B", "b2", ids.get(1)),
+                new SectionDto("C", "c", ids.get(2))), null, base);
+
+        Document merged = documentService.getBySlug(slug);
+        assertEquals(List.of("c", "a", "b2"),
+                documentService.getLeadingSections(merged, 10).stream().map(DocumentSection::getContentMd).toList());
+
+        // 세 번째 편집자(같은 기준 버전): 다른 순서 B, C, A → 충돌
+        EditConflictException e = assertThrows(EditConflictException.class, () ->
+                documentService.update(slug, "순서 병합", "요약", List.of(
+                        new SectionDto("B", "b", ids.get(1)),
+                        new SectionDto("C", "c", ids.get(2)),
+                        new SectionDto("A", "a", ids.get(0))), null, base));
+        assertEquals(List.of("섹션 순서"), e.getConflicts());
+    }
+}
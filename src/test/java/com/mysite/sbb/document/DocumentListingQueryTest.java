@@ -0,0 +1,75 @@
+package com.mysite.sbb.document;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentListing;
+import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.SectionDto;
+import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.paging.CursorPage;
+import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 문서 목록이 읽기 모델 한 번의 조회로 끝나는지 (작성자/섹션 지연 로딩 없음) 확인.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentListingQueryTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listIsOneQueryWithDenormalizedColumns() {
+        SiteUser author = userService.create("author", "author@example.com", "pw");
+        SiteUser editor = userService.create("editor", "editor@example.com", "pw");
+        List<Long> ids = new ArrayList<>();
+        Document edited = null;
+        for (int i = 0; i < 3; i++) {
+            Document doc = documentService.create(new DocumentCreateDto("목록 " + i, "요약 " + i, null,
+                    List.of(new SectionDto("개요", "본문"), new SectionDto("역사", "본문 " + i)), null), author);
+            ids.add(doc.getId());
+            if (i == 0) {
+                edited = doc;
+            }
+        }
+        documentService.update(edited.getSlug(), "목록 0 (수정)", "새 요약",
+                List.of(new SectionDto("개요", "본문")), editor);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+        CursorPage<DocumentListing> page = documentService.listLatest(null, 20);
+
+        assertEquals(1, stats.getPrepareStatementCount(), "list must be a single query");
+        // 컨텍스트를 공유하는 다른 테스트의 문서보다 최근이므로 맨 앞 세 개가 이 테스트의 문서
+        assertEquals(List.of(ids.get(0), ids.get(2), ids.get(1)),
+                page.content().stream().limit(3).map(DocumentListing::getDocumentId).toList());
+        DocumentListing first = page.content().get(0); // 가장 최근에 수정된 문서
+        assertEquals("목록 0 (수정)", first.getTitle());
+        assertEquals("새 요약", first.getSummaryExcerpt());
+        assertEquals("author", first.getAuthorName());
+        assertEquals("editor", first.getLastEditorName());
+        assertEquals(1, first.getSectionCount());
+        assertEquals(1, first.getVersion());
+        assertEquals(2, page.content().get(1).getSectionCount());
+    }
+}
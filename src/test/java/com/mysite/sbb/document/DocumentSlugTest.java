@@ -0,0 +1,38 @@
+package com.mysite.sbb.document;
+
+import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.service.DocumentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 슬러그 중복: base-N 번호만 후보로 보고 (base-guide, base-02 같은 다른 문서는 무시) 비어 있는 첫 번호.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentSlugTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Test
+    void duplicateSlugGetsFirstFreeNumber() {
+        assertEquals("slug-case", create("slug-case"));
+        create("slug-case-guide");
+        create("slug-case-02");
+        create("slug-case-3");
+
+        assertEquals("slug-case-2", create("slug-case"));
+        assertEquals("slug-case-4", create("slug-case"));
+    }
+
+    private String create(String slug) {
+        return documentService.create(new DocumentCreateDto("슬러그", "요약", null, List.of(), slug), null).getSlug();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mysite.sbb.document;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.SectionDto;
+import com.mysite.sbb.document.service.DocumentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 큰 문서 생성/수정 시 요청당 JDBC 문장 수 측정.
+ * 배치가 꺼져 있으면(IDENTITY) 섹션 수만큼 INSERT가 따로 나가므로 섹션 수에 비례해서 늘어난다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentWriteStatementsTest {
+
+    private static final int SECTIONS = 60;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void createAndUpdateUseConstantStatementCount() {
+        long[] small = measure(SECTIONS);
+        long[] large = measure(SECTIONS * 2);
+
+        // 섹션이 두 배가 돼도 배치/시퀀스 블록 몇 개만큼만 늘어남 (행마다 문장이면 SECTIONS만큼 증가)
+        assertTrue(small[0] < SECTIONS / 4, "create statements: " + small[0]);
+        assertTrue(small[1] < SECTIONS / 4, "update statements: " + small[1]);
+        assertTrue(large[0] - small[0] < SECTIONS / 10, "create statements: " + small[0] + " -> " + large[0]);
+        assertTrue(large[1] - small[1] < SECTIONS / 10, "update statements: " + small[1] + " -> " + large[1]);
+    }
+
+    /** count개 섹션 문서 생성/절반 수정의 문장 수 {생성, 수정} */
+    private long[] measure(int count) {
+        List<SectionDto> sections = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sections.add(new SectionDto("섹션 " + i, "본문 **" + i + "**"));
+        }
+
+        stats.clear();
+        Document doc = documentService.create(
+                new DocumentCreateDto("배치 테스트", "요약", null, sections, null), null);
+        long createStatements = stats.getPrepareStatementCount();
+
+        // 절반의 섹션 본문 수정
+        List<SectionDto> edited = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String body = i % 2 == 0 ? "수정된 본문 " + i : "본문 **" + i + "**";
+            edited.add(new SectionDto("섹션 " + i, body));
+        }
+        stats.clear();
+        documentService.update(doc.getSlug(), "배치 테스트", "요약", edited, null);
+        long updateStatements = stats.getPrepareStatementCount();
+        return new long[] { createStatements, updateStatements };
+    }
+}
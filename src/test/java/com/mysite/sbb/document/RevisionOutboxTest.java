@@ -0,0 +1,160 @@
+package com.mysite.sbb.document;
+
+import com.mysite.sbb.document.domain.Document;
+import com.mysite.sbb.document.domain.DocumentOutbox;
+import com.mysite.sbb.document.domain.DocumentRevision;
+import com.mysite.sbb.document.dto.DocumentCreateDto;
+import com.mysite.sbb.document.dto.DocumentSnapshot;
+import com.mysite.sbb.document.dto.SectionDto;
+import com.mysite.sbb.document.dto.SectionHeading;
+import com.mysite.sbb.document.repository.DocumentOutboxRepository;
+import com.mysite.sbb.document.repository.DocumentRevisionRepository;
+import com.mysite.sbb.document.service.DocumentService;
+import com.mysite.sbb.document.service.RevisionOutboxWorker;
+import com.mysite.sbb.document.service.RevisionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 아웃박스 → 리비전: 워커가 돌기 전에도 복원이 되고, 여러 번 처리(재전달 포함)해도 리비전 행이 같아야 한다.
+ * 처리되지 않는 항목은 백오프 후 상한에서 멈추고 다른 문서 처리를 막지 않는다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RevisionOutboxTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private RevisionService revisionService;
+
+    @Autowired
+    private RevisionOutboxWorker worker;
+
+    @Autowired
+    private DocumentOutboxRepository outboxRepo;
+
+    @Autowired
+    private DocumentRevisionRepository revisionRepo;
+
+    @Value("${sbb.revision.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Test
+    void drainIsIdempotentAndMaterializeSeesPendingRows() {
+        Document doc = documentService.create(new DocumentCreateDto("아웃박스", "요약", null,
+                List.of(new SectionDto("A", "a"), new SectionDto("B", "b"), new SectionDto("C", "c")), null), null);
+        List<Long> ids = documentService.getHeadings(doc).stream().map(SectionHeading::id).toList();
+
+        // 키프레임 위치(v1, v1 + 간격)를 지나도록 버전을 쌓는다
+        int last = revisionService.getKeyframeInterval() + 1;
+        for (int v = 1; v <= last; v++) {
+            List<SectionDto> sections = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                String body = i == v % ids.size() ? "본문 v" + v : "본문 " + i;
+                sections.add(new SectionDto("섹션 " + i, body, ids.get(i)));
+            }
+            documentService.update(doc.getSlug(), "아웃박스 v" + v, "요약", sections, null);
+        }
+        Long docId = doc.getId();
+        List<Integer> payloadSizes = outboxRepo.findByDocumentIdOrderByVersionAsc(docId).stream()
+                .map(o -> o.getPayloadJson().length())
+                .toList();
+        assertEquals(last + 1, payloadSizes.size());
+        assertTrue(revisionRepo.findByDocumentIdOrderByVersionAsc(docId).isEmpty());
+
+        // 아직 아웃박스에만 있는 상태에서 복원 (편집 병합 기준으로 쓰이는 경로)
+        List<DocumentSnapshot> pending = materializeAll(doc, last);
+        assertEquals("아웃박스 v" + last, pending.get(last).title());
+
+        worker.drain();
+        List<String> written = describe(revisionRepo.findByDocumentIdOrderByVersionAsc(docId));
+        assertEquals(last + 1, written.size());
+        assertTrue(outboxRepo.findByDocumentIdOrderByVersionAsc(docId).isEmpty());
+        for (DocumentRevision r : revisionRepo.findByDocumentIdOrderByVersionAsc(docId)) {
+            assertEquals(revisionService.isKeyframe(r.getVersion()), r.isKeyframe(), "keyframe at v" + r.getVersion());
+            // 키프레임으로 저장돼도 히스토리에 보이는 크기는 그 버전의 변경분
+            assertEquals(payloadSizes.get(r.getVersion()), r.getChangeSize(), "change size at v" + r.getVersion());
+        }
+
+        // 다시 처리해도, 이미 처리한 버전이 다시 전달돼도 리비전 행은 그대로
+        worker.drain();
+        DocumentOutbox redelivered = new DocumentOutbox();
+        redelivered.setDocument(doc);
+        redelivered.setVersion(last);
+        redelivered.setPayloadJson("{\"sections\":[]}");
+        redelivered.setCreatedAt(LocalDateTime.now());
+        outboxRepo.save(redelivered);
+        worker.drain();
+
+        assertEquals(written, describe(revisionRepo.findByDocumentIdOrderByVersionAsc(docId)));
+        assertTrue(outboxRepo.findByDocumentIdOrderByVersionAsc(docId).isEmpty());
+        assertEquals(pending, materializeAll(doc, last));
+    }
+
+    @Test
+    void poisonRowBacksOffAndStopsWithoutStarvingOtherDocuments() {
+        Document poisoned = documentService.create(new DocumentCreateDto("막힌 아웃박스", "요약", null,
+                List.of(new SectionDto("A", "a")), null), null);
+        worker.drain();
+
+        // 더 이상 적용되지 않는 델타
+        DocumentOutbox broken = new DocumentOutbox();
+        broken.setDocument(poisoned);
+        broken.setVersion(1);
+        broken.setPayloadJson("not a delta");
+        broken.setCreatedAt(LocalDateTime.now());
+        outboxRepo.save(broken);
+        Document healthy = documentService.create(new DocumentCreateDto("정상 아웃박스", "요약", null,
+                List.of(new SectionDto("A", "a")), null), null);
+
+        worker.drain();
+        DocumentOutbox failed = outboxRepo.findByDocumentIdOrderByVersionAsc(poisoned.getId()).get(0);
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertFalse(outboxRepo.findPendingDocumentIds(maxAttempts, LocalDateTime.now(), PageRequest.ofSize(1000))
+                .contains(poisoned.getId()));
+        // 막힌 문서와 상관없이 다른 문서는 처리됨
+        assertTrue(outboxRepo.findByDocumentIdOrderByVersionAsc(healthy.getId()).isEmpty());
+        assertEquals(1, revisionRepo.findByDocumentIdOrderByVersionAsc(healthy.getId()).size());
+
+        // 마지막 시도까지 실패하면 더는 가져가지 않음
+        failed.setAttempts(maxAttempts - 1);
+        failed.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepo.save(failed);
+        worker.drain();
+        assertEquals(maxAttempts, outboxRepo.findByDocumentIdOrderByVersionAsc(poisoned.getId()).get(0).getAttempts());
+        assertFalse(outboxRepo.findPendingDocumentIds(maxAttempts, LocalDateTime.now().plusYears(1),
+                PageRequest.ofSize(1000)).contains(poisoned.getId()));
+        assertEquals(1, revisionRepo.findByDocumentIdOrderByVersionAsc(poisoned.getId()).size());
+    }
+
+    private List<DocumentSnapshot> materializeAll(Document doc, int last) {
+        List<DocumentSnapshot> snapshots = new ArrayList<>();
+        for (int v = 0; v <= last; v++) {
+            snapshots.add(revisionService.materialize(doc, v));
+        }
+        return snapshots;
+    }
+
+    private static List<String> describe(List<DocumentRevision> revisions) {
+        return revisions.stream()
+                .map(r -> r.getId() + "/v" + r.getVersion() + "/" + r.getSnapshotJson() + "/" + r.getDeltaJson())
+                .toList();
+    }
+}
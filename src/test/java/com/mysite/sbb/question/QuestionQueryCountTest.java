@@ -0,0 +1,92 @@
+package com.mysite.sbb.question;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.answer.AnswerService;
+import com.mysite.sbb.paging.CursorPage;
+import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 질문 목록/상세의 쿼리 수가 행 수와 무관하게 일정한지 확인. (행마다 작성자/답변 조회 X)
+ * 데이터는 테스트 트랜잭션 없이 커밋하고, 조회 결과는 트랜잭션 밖에서 읽는다 (1차 캐시/지연 로딩에 기대지 않음).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QuestionQueryCountTest {
+
+	private static final int QUESTIONS = 10;
+
+	@Autowired
+	private QuestionService questionService;
+
+	@Autowired
+	private AnswerService answerService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void listAndDetailQueryCountIsConstant() {
+		// 질문마다 작성자가 다르고, i번째 질문에는 답변 i개 (답변 작성자도 제각각)
+		List<SiteUser> users = new ArrayList<>();
+		for (int i = 0; i < QUESTIONS; i++) {
+			users.add(userService.create("qc-user" + i, "qc-user" + i + "@example.com", "pw"));
+		}
+		for (int i = 0; i < QUESTIONS; i++) {
+			questionService.create("qc 질문 " + i, "내용", users.get(i));
+		}
+		List<QuestionListItem> created = questionService.getListAfter(null, QUESTIONS).content();
+		for (QuestionListItem item : created) {
+			int n = Integer.parseInt(item.subject().substring("qc 질문 ".length()));
+			Question question = questionService.getQuestion(item.id());
+			for (int a = 0; a < n; a++) {
+				answerService.create(question, "답변 " + a, users.get((n + a + 1) % QUESTIONS));
+			}
+		}
+
+		Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		stats.setStatisticsEnabled(true);
+
+		// 목록: 작성자 이름과 답변 수까지 키셋 목록 쿼리 한 번 (COUNT 없음)
+		stats.clear();
+		CursorPage<QuestionListItem> page = questionService.getListAfter(null, QUESTIONS);
+		for (QuestionListItem item : page.content()) {
+			int n = Integer.parseInt(item.subject().substring("qc 질문 ".length()));
+			assertEquals("qc-user" + n, item.authorName());
+			assertEquals((long) n, item.answerCount());
+		}
+		assertEquals(QUESTIONS, page.content().size());
+		assertEquals(1, stats.getPrepareStatementCount(), "list statements");
+
+		// 상세: 질문 + 작성자 + 답변 + 답변 작성자를 한 쿼리로 (트랜잭션 밖에서 읽어도 지연 로딩 없음)
+		Integer busiest = page.content().stream()
+				.filter(item -> item.subject().equals("qc 질문 " + (QUESTIONS - 1)))
+				.findFirst().orElseThrow().id();
+		stats.clear();
+		Question detail = questionService.getQuestionDetail(busiest);
+		assertEquals("qc-user" + (QUESTIONS - 1), detail.getAuthor().getUsername());
+		assertEquals(QUESTIONS - 1, detail.getAnswerList().size());
+		for (Answer answer : detail.getAnswerList()) {
+			assertTrue(answer.getAuthor().getUsername().startsWith("qc-user"));
+		}
+		assertEquals(1, stats.getPrepareStatementCount(), "detail statements");
+	}
+}
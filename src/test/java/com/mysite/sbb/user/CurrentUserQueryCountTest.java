@@ -0,0 +1,69 @@
+package com.mysite.sbb.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 쓰기 요청에서 작성자(SiteUser) 조회가 캐시로 빠지는지 확인.
+ * 같은 사용자의 두 번째 요청부터는 사용자 SELECT가 없어야 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CurrentUserQueryCountTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private SiteUserCache userCache;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void authorIsLoadedOncePerTtl() throws Exception {
+		userService.create("writer", "writer@example.com", "pw");
+		userCache.clear();
+		Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		stats.setStatisticsEnabled(true);
+
+		long[] userLoads = new long[3];
+		long[] statements = new long[3];
+		for (int i = 0; i < userLoads.length; i++) {
+			stats.clear();
+			mockMvc.perform(post("/question/create")
+					.with(user("writer"))
+					.with(csrf())
+					.param("subject", "질문 " + i)
+					.param("content", "내용"))
+					.andExpect(status().is3xxRedirection());
+			userLoads[i] = stats.getEntityStatistics(SiteUser.class.getName()).getLoadCount();
+			statements[i] = stats.getPrepareStatementCount();
+		}
+
+		assertEquals(1, userLoads[0], "first request loads the user");
+		assertEquals(0, userLoads[1], "cached user must not be queried again");
+		assertEquals(0, userLoads[2], "cached user must not be queried again");
+		assertTrue(statements[1] < statements[0], "statements per request: " + statements[0] + " -> " + statements[1]);
+		assertEquals(statements[1], statements[2], "statement count must stay flat once the user is cached");
+	}
+}